@@ -0,0 +1,69 @@
+package iris.playharmony.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Run with: mvn -Pjmh test-compile exec:exec
+// -prof gc reports gc.alloc.rate.norm, which must stay at 0 B/op for both benchmarks
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GaussianSmoothBenchmark {
+
+    private static final int SPECTRUM_THRESHOLD = -60;
+
+    @Param({"800"})
+    private int numBands;
+
+    @Param({"4"})
+    private int radius;
+
+    private GaussianSmooth smooth;
+    private float[] magnitudes;
+    private float[] frame;
+
+    @Setup
+    public void setUp() {
+
+        smooth = new GaussianSmooth(radius, GaussianSmooth.getDefaultSigma(radius));
+        magnitudes = new float[numBands];
+        frame = new float[numBands];
+
+        Random random = new Random(42);
+
+        for(int i = 0;i < numBands;i++) {
+            magnitudes[i] = SPECTRUM_THRESHOLD * random.nextFloat();
+        }
+
+        // The in-place scratch buffer is sized on the first call, not during the measurement
+        smooth.smooth(frame, frame, numBands);
+    }
+
+    // What Spectrum does on every callback: the media thread's magnitudes into a frame of the triple buffer
+    @Benchmark
+    public float[] smoothIntoFrame() {
+        smooth.smooth(magnitudes, frame, numBands);
+        return frame;
+    }
+
+    @Benchmark
+    public float[] smoothInPlace() {
+        smooth.smooth(frame, frame, numBands);
+        return frame;
+    }
+}
@@ -1,6 +1,9 @@
 package iris.playharmony;
 
 import iris.playharmony.controller.NavController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
+import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.controller.db.sql.SQLConnectionManager;
 import iris.playharmony.model.Song;
 import iris.playharmony.model.player.MusicPlayer;
 import iris.playharmony.model.player.Spectrum;
@@ -9,6 +12,7 @@ import iris.playharmony.util.SongFactory;
 import iris.playharmony.view.MainView;
 import iris.playharmony.view.main.LobbyView;
 import iris.playharmony.view.player.MusicPlayerView;
+import iris.playharmony.view.player.PlaybackEngine;
 import iris.playharmony.view.player.MusicPlayerViewModel;
 import javafx.animation.Interpolator;
 import javafx.application.Application;
@@ -70,6 +74,14 @@ public class PlayHarmony extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        PlaybackEngine.get().getViewModel().getMusicPlayer().clearCache();
+        DatabaseController.get().flushPlaylists();
+        AsyncDatabaseController.get().shutdown();
+        SQLConnectionManager.get().closeAll();
+    }
+
     private void createScene() {
 
         Parent root = new MainView();
@@ -0,0 +1,318 @@
+package iris.playharmony.controller.db;
+
+import iris.playharmony.controller.db.sql.SQLConnectionManager;
+import iris.playharmony.model.Playlist;
+import iris.playharmony.model.RatingSummary;
+import iris.playharmony.model.Song;
+import iris.playharmony.model.SongReview;
+import iris.playharmony.model.SongSort;
+import iris.playharmony.model.User;
+import javafx.application.Platform;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class AsyncDatabaseController {
+
+    public static final Executor FX_THREAD = Platform::runLater;
+
+    private static final int DB_THREADS = 2;
+    private static final int MAX_QUEUED_TASKS = 256;
+
+    private static volatile AsyncDatabaseController instance;
+
+    public static AsyncDatabaseController get() {
+        if(instance == null) {
+            synchronized (AsyncDatabaseController.class) {
+                if(instance == null) {
+                    instance = new AsyncDatabaseController(DatabaseController.get());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        onFxThread(future, onSuccess, e -> Logger.getGlobal().log(Level.SEVERE, "Database task failed", e));
+    }
+
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenCompleteAsync((result, error) -> {
+            if(error != null) {
+                onError.accept(error);
+            } else {
+                onSuccess.accept(result);
+            }
+        }, FX_THREAD);
+    }
+
+    private final DatabaseController databaseController;
+    private final ThreadPoolExecutor executor;
+
+    // Statistics
+    private final AtomicLong submittedTasks;
+    private final AtomicLong failedTasks;
+    private final AtomicLong rejectedTasks;
+    private final AtomicLong totalQueueNanos;
+    private final AtomicLong totalExecutionNanos;
+    private final AtomicLong maxExecutionNanos;
+    private final AtomicInteger maxQueueDepth;
+
+    private AsyncDatabaseController(DatabaseController databaseController) {
+        this.databaseController = databaseController;
+        executor = new ThreadPoolExecutor(DB_THREADS, DB_THREADS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_TASKS), createThreadFactory());
+        submittedTasks = new AtomicLong();
+        failedTasks = new AtomicLong();
+        rejectedTasks = new AtomicLong();
+        totalQueueNanos = new AtomicLong();
+        totalExecutionNanos = new AtomicLong();
+        maxExecutionNanos = new AtomicLong();
+        maxQueueDepth = new AtomicInteger();
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        final long submittedAt = System.nanoTime();
+
+        try {
+
+            executor.execute(() -> run(task, future, submittedAt));
+
+            submittedTasks.incrementAndGet();
+            maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+
+        } catch (RejectedExecutionException e) {
+            rejectedTasks.incrementAndGet();
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Songs
+
+    public CompletableFuture<List<Song>> getSongs() {
+        return submit(databaseController::getSongs);
+    }
+
+    public CompletableFuture<List<Song>> getSongsPage(Song after, int limit, SongSort sort) {
+        return submit(() -> databaseController.getSongsPage(after, limit, sort));
+    }
+
+    public CompletableFuture<List<Song>> searchSongs(String query, int limit) {
+        return submit(() -> databaseController.searchSongs(query, limit));
+    }
+
+    public CompletableFuture<Optional<Song>> getSongByTitle(String title) {
+        return submit(() -> databaseController.getSongByTitle(title));
+    }
+
+    public CompletableFuture<File> openSongPhoto(String title) {
+        return submit(() -> databaseController.openSongPhoto(title));
+    }
+
+    public CompletableFuture<Boolean> addSong(Song song) {
+        return submit(() -> databaseController.addSong(song));
+    }
+
+    public CompletableFuture<Boolean> updateSong(Song song, String key) {
+        return submit(() -> databaseController.updateSong(song, key));
+    }
+
+    public CompletableFuture<Boolean> deleteSong(Song song) {
+        return submit(() -> databaseController.deleteSong(song));
+    }
+
+    // Reviews
+
+    public CompletableFuture<List<SongReview>> getSongReviews() {
+        return submit(databaseController::getSongReviews);
+    }
+
+    public CompletableFuture<Map<String, RatingSummary>> getRatingSummaries() {
+        return submit(databaseController::getRatingSummaries);
+    }
+
+    public CompletableFuture<RatingSummary> getRatingSummary(String songTitle) {
+        return submit(() -> databaseController.getRatingSummary(songTitle));
+    }
+
+    public CompletableFuture<Boolean> addSongReview(SongReview songReview) {
+        return submit(() -> databaseController.addSongReview(songReview));
+    }
+
+    public CompletableFuture<Boolean> updateSongReview(SongReview songReview) {
+        return submit(() -> databaseController.updateSongReview(songReview));
+    }
+
+    public CompletableFuture<Boolean> upsertSongReview(SongReview songReview) {
+        return submit(() -> databaseController.upsertSongReview(songReview));
+    }
+
+    // Users
+
+    public CompletableFuture<List<User>> getUsers() {
+        return submit(databaseController::getUsers);
+    }
+
+    public CompletableFuture<Optional<User>> getUserByEmail(String email) {
+        return submit(() -> databaseController.getUserByEmail(email));
+    }
+
+    public CompletableFuture<Boolean> addUser(User user) {
+        return submit(() -> databaseController.addUser(user));
+    }
+
+    public CompletableFuture<Boolean> updateUser(User user, String key) {
+        return submit(() -> databaseController.updateUser(user, key));
+    }
+
+    public CompletableFuture<Boolean> updateMyAccount(User user, String key) {
+        return submit(() -> databaseController.updateMyAccount(user, key));
+    }
+
+    public CompletableFuture<Boolean> removeUser(String key) {
+        return submit(() -> databaseController.removeUser(key));
+    }
+
+    // Playlists
+
+    public CompletableFuture<Boolean> addPlayList(Playlist playlist, User user) {
+        return submit(() -> databaseController.addPlayList(playlist, user));
+    }
+
+    public CompletableFuture<Boolean> updatePlayList(String newName, Playlist playlist, User user) {
+        return submit(() -> databaseController.updatePlayList(newName, playlist, user));
+    }
+
+    public CompletableFuture<Boolean> deletePlayList(Playlist playlist, User user) {
+        return submit(() -> databaseController.deletePlayList(playlist, user));
+    }
+
+    public CompletableFuture<Boolean> addToFavourites(Playlist favourites, User user) {
+        return submit(() -> databaseController.addToFavourites(favourites, user));
+    }
+
+    // Statistics
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public int getActiveTasks() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedTasks() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getSubmittedTasks() {
+        return submittedTasks.get();
+    }
+
+    public long getFailedTasks() {
+        return failedTasks.get();
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks.get();
+    }
+
+    public double getAverageQueueMillis() {
+        return averageMillis(totalQueueNanos.get());
+    }
+
+    public double getAverageExecutionMillis() {
+        return averageMillis(totalExecutionNanos.get());
+    }
+
+    public double getMaxExecutionMillis() {
+        return maxExecutionNanos.get() / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncDatabaseController{" +
+                "queueDepth=" + getQueueDepth() +
+                ", maxQueueDepth=" + getMaxQueueDepth() +
+                ", activeTasks=" + getActiveTasks() +
+                ", submittedTasks=" + getSubmittedTasks() +
+                ", completedTasks=" + getCompletedTasks() +
+                ", failedTasks=" + getFailedTasks() +
+                ", rejectedTasks=" + getRejectedTasks() +
+                ", averageQueueMillis=" + getAverageQueueMillis() +
+                ", averageExecutionMillis=" + getAverageExecutionMillis() +
+                ", maxExecutionMillis=" + getMaxExecutionMillis() +
+                '}';
+    }
+
+    private <T> void run(Supplier<T> task, CompletableFuture<T> future, long submittedAt) {
+
+        final long startedAt = System.nanoTime();
+
+        totalQueueNanos.addAndGet(startedAt - submittedAt);
+
+        try {
+            future.complete(task.get());
+        } catch (Throwable e) {
+            failedTasks.incrementAndGet();
+            future.completeExceptionally(e);
+        } finally {
+            final long executionNanos = System.nanoTime() - startedAt;
+            totalExecutionNanos.addAndGet(executionNanos);
+            maxExecutionNanos.accumulateAndGet(executionNanos, Math::max);
+        }
+    }
+
+    private double averageMillis(long totalNanos) {
+        final long tasks = executor.getCompletedTaskCount();
+        return tasks == 0 ? 0 : totalNanos / 1e6 / tasks;
+    }
+
+    private static ThreadFactory createThreadFactory() {
+
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return runnable -> {
+
+            Thread thread = new Thread(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    SQLConnectionManager.get().closeThreadConnection();
+                }
+            }, "db-worker-" + threadCount.incrementAndGet());
+
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+}
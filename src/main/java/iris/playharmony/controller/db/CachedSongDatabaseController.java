@@ -0,0 +1,252 @@
+package iris.playharmony.controller.db;
+
+import iris.playharmony.model.RatingSummary;
+import iris.playharmony.model.Song;
+import iris.playharmony.model.SongReview;
+import iris.playharmony.model.SongSort;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+public class CachedSongDatabaseController implements ISongDatabaseController {
+
+    private final ISongDatabaseController songDatabaseController;
+    private volatile SongCatalog catalog;
+    private volatile ConcurrentHashMap<String, RatingSummary> ratingSummaries;
+
+    // Statistics
+    private final AtomicLong catalogHits;
+    private final AtomicLong catalogMisses;
+    private final AtomicLong ratingSummaryHits;
+    private final AtomicLong ratingSummaryMisses;
+
+    public CachedSongDatabaseController(ISongDatabaseController songDatabaseController) {
+        this.songDatabaseController = requireNonNull(songDatabaseController);
+        catalogHits = new AtomicLong();
+        catalogMisses = new AtomicLong();
+        ratingSummaryHits = new AtomicLong();
+        ratingSummaryMisses = new AtomicLong();
+    }
+
+    @Override
+    public List<Song> getSongs() {
+        return getCatalog().getSongs();
+    }
+
+    @Override
+    public List<Song> getSongsPage(Song after, int limit, SongSort sort) {
+
+        SongCatalog currentCatalog = catalog;
+
+        if(currentCatalog == null || sort != SongSort.TITLE) {
+            catalogMisses.incrementAndGet();
+            return songDatabaseController.getSongsPage(after, limit, sort);
+        }
+
+        catalogHits.incrementAndGet();
+
+        return currentCatalog.getPage(after == null ? null : after.getTitle(), limit);
+    }
+
+    @Override
+    public List<Song> searchSongs(String query, int limit) {
+        return songDatabaseController.searchSongs(query, limit);
+    }
+
+    @Override
+    public Optional<Song> getSongByTitle(String title) {
+
+        SongCatalog currentCatalog = catalog;
+
+        if(currentCatalog == null) {
+            catalogMisses.incrementAndGet();
+            return songDatabaseController.getSongByTitle(title);
+        }
+
+        catalogHits.incrementAndGet();
+
+        return Optional.ofNullable(currentCatalog.get(title));
+    }
+
+    @Override
+    public synchronized boolean addSong(Song song) {
+
+        final boolean added = songDatabaseController.addSong(song);
+
+        if(added && catalog != null) {
+            catalog = catalog.with(song);
+        }
+
+        return added;
+    }
+
+    @Override
+    public synchronized boolean updateSong(Song song, String key) {
+
+        final boolean updated = songDatabaseController.updateSong(song, key);
+
+        if(updated && catalog != null) {
+            catalog = catalog.without(key).with(song);
+        }
+
+        return updated;
+    }
+
+    @Override
+    public synchronized boolean deleteSong(Song song) {
+
+        final boolean deleted = songDatabaseController.deleteSong(song);
+
+        if(deleted && catalog != null) {
+            catalog = catalog.without(song.getTitle());
+        }
+
+        return deleted;
+    }
+
+    @Override
+    public File openSongPhoto(String title) {
+        return songDatabaseController.openSongPhoto(title);
+    }
+
+    @Override
+    public List<SongReview> getSongReviews() {
+        return songDatabaseController.getSongReviews();
+    }
+
+    @Override
+    public Map<String, RatingSummary> getRatingSummaries() {
+        return Collections.unmodifiableMap(getRatingSummaryCache());
+    }
+
+    @Override
+    public RatingSummary getRatingSummary(String songTitle) {
+        return getRatingSummaryCache().getOrDefault(songTitle, RatingSummary.EMPTY);
+    }
+
+    @Override
+    public synchronized boolean addSongReview(SongReview songReview) {
+
+        final boolean added = songDatabaseController.addSongReview(songReview);
+
+        if(added && ratingSummaries != null) {
+            ratingSummaries.compute(songReview.getSongTitle(), (songTitle, summary) ->
+                    (summary != null ? summary : RatingSummary.EMPTY).with(songReview.getRating()));
+        }
+
+        return added;
+    }
+
+    @Override
+    public synchronized boolean updateSongReview(SongReview songReview) {
+
+        final boolean updated = songDatabaseController.updateSongReview(songReview);
+
+        if(updated && ratingSummaries != null) {
+            final String songTitle = songReview.getSongTitle();
+            ratingSummaries.put(songTitle, songDatabaseController.getRatingSummary(songTitle));
+        }
+
+        return updated;
+    }
+
+    @Override
+    public synchronized boolean upsertSongReview(SongReview songReview) {
+
+        final boolean upserted = songDatabaseController.upsertSongReview(songReview);
+
+        if(upserted && ratingSummaries != null) {
+            final String songTitle = songReview.getSongTitle();
+            ratingSummaries.put(songTitle, songDatabaseController.getRatingSummary(songTitle));
+        }
+
+        return upserted;
+    }
+
+    public synchronized void invalidate() {
+        catalog = null;
+        ratingSummaries = null;
+    }
+
+    public long getCatalogHits() {
+        return catalogHits.get();
+    }
+
+    public long getCatalogMisses() {
+        return catalogMisses.get();
+    }
+
+    public long getRatingSummaryHits() {
+        return ratingSummaryHits.get();
+    }
+
+    public long getRatingSummaryMisses() {
+        return ratingSummaryMisses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CachedSongDatabaseController{" +
+                "catalogHits=" + catalogHits +
+                ", catalogMisses=" + catalogMisses +
+                ", ratingSummaryHits=" + ratingSummaryHits +
+                ", ratingSummaryMisses=" + ratingSummaryMisses +
+                '}';
+    }
+
+    private SongCatalog getCatalog() {
+
+        SongCatalog currentCatalog = catalog;
+
+        if(currentCatalog != null) {
+            catalogHits.incrementAndGet();
+            return currentCatalog;
+        }
+
+        return loadCatalog();
+    }
+
+    // A rating write only replaces the summary of its song, readers see the other entries unchanged
+    private Map<String, RatingSummary> getRatingSummaryCache() {
+
+        ConcurrentHashMap<String, RatingSummary> currentRatingSummaries = ratingSummaries;
+
+        if(currentRatingSummaries != null) {
+            ratingSummaryHits.incrementAndGet();
+            return currentRatingSummaries;
+        }
+
+        return loadRatingSummaries();
+    }
+
+    private synchronized Map<String, RatingSummary> loadRatingSummaries() {
+
+        if(ratingSummaries == null) {
+            ratingSummaryMisses.incrementAndGet();
+            ratingSummaries = new ConcurrentHashMap<>(songDatabaseController.getRatingSummaries());
+        } else {
+            ratingSummaryHits.incrementAndGet();
+        }
+
+        return ratingSummaries;
+    }
+
+    private synchronized SongCatalog loadCatalog() {
+
+        if(catalog == null) {
+            catalogMisses.incrementAndGet();
+            catalog = new SongCatalog(songDatabaseController.getSongs());
+        } else {
+            catalogHits.incrementAndGet();
+        }
+
+        return catalog;
+    }
+}
@@ -0,0 +1,110 @@
+package iris.playharmony.controller.db;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static java.util.Objects.requireNonNull;
+
+public class ChangeJournal {
+
+    public enum ChangeType {
+        SONG_ADDED,
+        SONG_UPDATED,
+        SONG_DELETED,
+        REVIEW_SAVED,
+        USER_ADDED,
+        USER_UPDATED,
+        USER_REMOVED,
+        PLAYLISTS_CHANGED
+    }
+
+    private static final int MAX_RECENT_CHANGES = Integer.getInteger("playharmony.db.journalSize", 1024);
+
+    private final Deque<Change> recentChanges;
+    private volatile ReadModel model;
+    private volatile long sequence;
+
+    ChangeJournal(ReadModel model) {
+        this.model = requireNonNull(model);
+        recentChanges = new ArrayDeque<>();
+    }
+
+    ReadModel getModel() {
+        return model;
+    }
+
+    synchronized long append(ChangeType type, String key, UnaryOperator<ReadModel> change) {
+
+        // Readers keep whatever model they already hold, so each change publishes a new one instead of mutating it
+        model = requireNonNull(change.apply(model));
+
+        recentChanges.addLast(new Change(sequence + 1, type, key, System.currentTimeMillis()));
+
+        if(recentChanges.size() > MAX_RECENT_CHANGES) {
+            recentChanges.removeFirst();
+        }
+
+        return ++sequence;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public synchronized List<Change> getChangesSince(long sequence) {
+
+        List<Change> changes = new ArrayList<>();
+
+        for(Change change : recentChanges) {
+            if(change.sequence > sequence) {
+                changes.add(change);
+            }
+        }
+
+        return changes;
+    }
+
+    public static final class Change {
+
+        private final long sequence;
+        private final ChangeType type;
+        private final String key;
+        private final long timestamp;
+
+        private Change(long sequence, ChangeType type, String key, long timestamp) {
+            this.sequence = sequence;
+            this.type = type;
+            this.key = key;
+            this.timestamp = timestamp;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public ChangeType getType() {
+            return type;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return "Change{" +
+                    "sequence=" + sequence +
+                    ", type=" + type +
+                    ", key='" + key + '\'' +
+                    ", timestamp=" + timestamp +
+                    '}';
+        }
+    }
+}
@@ -1,21 +1,30 @@
 package iris.playharmony.controller.db;
 
 import iris.playharmony.model.Playlist;
+import iris.playharmony.model.RatingSummary;
 import iris.playharmony.model.Song;
 import iris.playharmony.model.SongReview;
+import iris.playharmony.model.SongSort;
 import iris.playharmony.model.User;
 
 import javax.xml.crypto.Data;
+import java.io.File;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class DatabaseController implements IUserDatabaseController, ISongDatabaseController, IPlaylistDatabaseController {
 
-    private static DatabaseController instance;
+    private static final boolean IN_MEMORY = Boolean.getBoolean("playharmony.db.inMemory");
+
+    private static volatile DatabaseController instance;
 
     public static DatabaseController get() {
         if(instance == null) {
             synchronized (DatabaseController.class) {
-                instance = new DatabaseController();
+                if(instance == null) {
+                    instance = new DatabaseController();
+                }
             }
         }
         return instance;
@@ -27,9 +36,21 @@ public class DatabaseController implements IUserDatabaseController, ISongDatabas
     private final IPlaylistDatabaseController playlistDatabaseController;
 
     private DatabaseController() {
-        userDatabaseController = new UserDatabaseController();
-        songDatabaseController = new SongDatabaseController();
-        playlistDatabaseController = new PlaylistDatabaseController();
+        new SchemaMigrator().migrate();
+        PlaylistDatabaseController playlistDatabaseController = new PlaylistDatabaseController();
+        UserDatabaseController userDatabaseController = new UserDatabaseController(playlistDatabaseController);
+
+        if(IN_MEMORY) {
+            InMemoryDatabaseController inMemoryDatabaseController = new InMemoryDatabaseController(userDatabaseController,
+                    new SongDatabaseController(playlistDatabaseController), playlistDatabaseController);
+            this.userDatabaseController = inMemoryDatabaseController;
+            this.songDatabaseController = inMemoryDatabaseController;
+            this.playlistDatabaseController = inMemoryDatabaseController;
+        } else {
+            this.userDatabaseController = userDatabaseController;
+            this.songDatabaseController = new CachedSongDatabaseController(new SongDatabaseController(playlistDatabaseController));
+            this.playlistDatabaseController = playlistDatabaseController;
+        }
     }
 
     @Override
@@ -52,11 +73,36 @@ public class DatabaseController implements IUserDatabaseController, ISongDatabas
         return songDatabaseController.getSongs();
     }
 
+    @Override
+    public List<Song> getSongsPage(Song after, int limit, SongSort sort) {
+        return songDatabaseController.getSongsPage(after, limit, sort);
+    }
+
+    @Override
+    public List<Song> searchSongs(String query, int limit) {
+        return songDatabaseController.searchSongs(query, limit);
+    }
+
+    @Override
+    public Optional<Song> getSongByTitle(String title) {
+        return songDatabaseController.getSongByTitle(title);
+    }
+
+    @Override
+    public File openSongPhoto(String title) {
+        return songDatabaseController.openSongPhoto(title);
+    }
+
     @Override
     public List<User> getUsers() {
         return userDatabaseController.getUsers();
     }
 
+    @Override
+    public Optional<User> getUserByEmail(String email) {
+        return userDatabaseController.getUserByEmail(email);
+    }
+
     @Override
     public boolean addUser(User user) {
         return userDatabaseController.addUser(user);
@@ -100,11 +146,36 @@ public class DatabaseController implements IUserDatabaseController, ISongDatabas
         return playlistDatabaseController.addToFavourites(favourites, user);
     }
 
+    @Override
+    public void flushPlaylists() {
+        playlistDatabaseController.flushPlaylists();
+    }
+
+    @Override
+    public void flushPlaylists(User user) {
+        playlistDatabaseController.flushPlaylists(user);
+    }
+
+    @Override
+    public long getFailedWrites() {
+        return playlistDatabaseController.getFailedWrites();
+    }
+
     @Override
     public List<SongReview> getSongReviews() {
         return songDatabaseController.getSongReviews();
     }
 
+    @Override
+    public Map<String, RatingSummary> getRatingSummaries() {
+        return songDatabaseController.getRatingSummaries();
+    }
+
+    @Override
+    public RatingSummary getRatingSummary(String songTitle) {
+        return songDatabaseController.getRatingSummary(songTitle);
+    }
+
     @Override
     public boolean addSongReview(SongReview songReview) {
         return songDatabaseController.addSongReview(songReview);
@@ -114,4 +185,9 @@ public class DatabaseController implements IUserDatabaseController, ISongDatabas
     public boolean updateSongReview(SongReview songReview) {
         return songDatabaseController.updateSongReview(songReview);
     }
+
+    @Override
+    public boolean upsertSongReview(SongReview songReview) {
+        return songDatabaseController.upsertSongReview(songReview);
+    }
 }
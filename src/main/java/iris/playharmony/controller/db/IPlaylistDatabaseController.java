@@ -5,11 +5,23 @@ import iris.playharmony.model.User;
 
 public interface IPlaylistDatabaseController {
 
+    // Queues the write and returns true. A write that fails later stays queued, is retried with backoff and is
+    // counted by getFailedWrites()
     boolean addPlayList(Playlist updatedPlaylist, User user);
 
+    // Written right away, false when the write failed. Neither the user nor the playlist is changed, so it can run
+    // off the FX thread and the caller renames the playlist once it succeeds
     boolean updatePlayList(String newName, Playlist playlist, User user);
 
+    // Written right away, false when the write failed. Like updatePlayList, the caller removes the playlist
     boolean deletePlayList(Playlist playList, User user);
 
+    // Queued like addPlayList
     boolean addToFavourites(Playlist favourites, User user);
+
+    void flushPlaylists();
+
+    void flushPlaylists(User user);
+
+    long getFailedWrites();
 }
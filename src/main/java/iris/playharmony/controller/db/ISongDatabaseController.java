@@ -1,11 +1,16 @@
 package iris.playharmony.controller.db;
 
 import iris.playharmony.model.Playlist;
+import iris.playharmony.model.RatingSummary;
 import iris.playharmony.model.Song;
 import iris.playharmony.model.SongReview;
+import iris.playharmony.model.SongSort;
 import iris.playharmony.model.User;
 
+import java.io.File;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface ISongDatabaseController {
 
@@ -17,9 +22,24 @@ public interface ISongDatabaseController {
 
     List<Song> getSongs();
 
+    // after is the last song of the previous page, it does not need to still exist
+    List<Song> getSongsPage(Song after, int limit, SongSort sort);
+
+    List<Song> searchSongs(String query, int limit);
+
+    Optional<Song> getSongByTitle(String title);
+
+    File openSongPhoto(String title);
+
     List<SongReview> getSongReviews();
 
+    Map<String, RatingSummary> getRatingSummaries();
+
+    RatingSummary getRatingSummary(String songTitle);
+
     boolean addSongReview(SongReview songReview);
 
     boolean updateSongReview(SongReview songReview);
+
+    boolean upsertSongReview(SongReview songReview);
 }
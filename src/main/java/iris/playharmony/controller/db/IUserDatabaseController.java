@@ -3,11 +3,14 @@ package iris.playharmony.controller.db;
 import iris.playharmony.model.User;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IUserDatabaseController {
 
     List<User> getUsers();
 
+    Optional<User> getUserByEmail(String email);
+
     boolean addUser(User user);
 
     boolean updateUser(User user, String key);
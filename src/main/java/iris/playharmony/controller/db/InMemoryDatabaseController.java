@@ -0,0 +1,297 @@
+package iris.playharmony.controller.db;
+
+import iris.playharmony.controller.db.ChangeJournal.ChangeType;
+import iris.playharmony.model.Playlist;
+import iris.playharmony.model.RatingSummary;
+import iris.playharmony.model.Song;
+import iris.playharmony.model.SongReview;
+import iris.playharmony.model.SongSort;
+import iris.playharmony.model.User;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static java.util.Objects.requireNonNull;
+
+public class InMemoryDatabaseController implements IUserDatabaseController, ISongDatabaseController, IPlaylistDatabaseController {
+
+    private final IUserDatabaseController userDatabaseController;
+    private final ISongDatabaseController songDatabaseController;
+    private final IPlaylistDatabaseController playlistDatabaseController;
+    private final ChangeJournal journal;
+
+    public InMemoryDatabaseController(IUserDatabaseController userDatabaseController,
+                                      ISongDatabaseController songDatabaseController,
+                                      IPlaylistDatabaseController playlistDatabaseController) {
+        this.userDatabaseController = requireNonNull(userDatabaseController);
+        this.songDatabaseController = requireNonNull(songDatabaseController);
+        this.playlistDatabaseController = requireNonNull(playlistDatabaseController);
+        journal = new ChangeJournal(load());
+    }
+
+    // Songs
+
+    @Override
+    public List<Song> getSongs() {
+        return journal.getModel().getSongs();
+    }
+
+    @Override
+    public List<Song> getSongsPage(Song after, int limit, SongSort sort) {
+        return journal.getModel().getSongsPage(after, limit, sort);
+    }
+
+    @Override
+    public List<Song> searchSongs(String query, int limit) {
+        return journal.getModel().searchSongs(query, limit);
+    }
+
+    @Override
+    public Optional<Song> getSongByTitle(String title) {
+        return Optional.ofNullable(journal.getModel().getSong(title));
+    }
+
+    @Override
+    public File openSongPhoto(String title) {
+        return journal.getModel().getSongPhoto(title);
+    }
+
+    @Override
+    public synchronized boolean addSong(Song song) {
+
+        final boolean added = songDatabaseController.addSong(song);
+
+        if(added) {
+            final File photo = songDatabaseController.openSongPhoto(song.getTitle());
+            journal.append(ChangeType.SONG_ADDED, song.getTitle(), model -> model.withSong(song, photo));
+        }
+
+        return added;
+    }
+
+    @Override
+    public synchronized boolean updateSong(Song song, String key) {
+
+        final boolean updated = songDatabaseController.updateSong(song, key);
+
+        if(updated) {
+            final File photo = songDatabaseController.openSongPhoto(song.getTitle());
+            journal.append(ChangeType.SONG_UPDATED, key, model -> model.withoutSong(key).withSong(song, photo)
+                    .withSongInPlaylists(key, song));
+        }
+
+        return updated;
+    }
+
+    @Override
+    public synchronized boolean deleteSong(Song song) {
+
+        final boolean deleted = songDatabaseController.deleteSong(song);
+
+        if(deleted) {
+            journal.append(ChangeType.SONG_DELETED, song.getTitle(), model -> model.withoutSong(song.getTitle())
+                    .withSongInPlaylists(song.getTitle(), null));
+        }
+
+        return deleted;
+    }
+
+    // Reviews
+
+    @Override
+    public List<SongReview> getSongReviews() {
+        return journal.getModel().getSongReviews();
+    }
+
+    @Override
+    public Map<String, RatingSummary> getRatingSummaries() {
+        return journal.getModel().getRatingSummaries();
+    }
+
+    @Override
+    public RatingSummary getRatingSummary(String songTitle) {
+        return journal.getModel().getRatingSummary(songTitle);
+    }
+
+    @Override
+    public synchronized boolean addSongReview(SongReview songReview) {
+        return saveSongReview(songDatabaseController.addSongReview(songReview), songReview);
+    }
+
+    @Override
+    public synchronized boolean updateSongReview(SongReview songReview) {
+        return saveSongReview(songDatabaseController.updateSongReview(songReview), songReview);
+    }
+
+    @Override
+    public synchronized boolean upsertSongReview(SongReview songReview) {
+        return saveSongReview(songDatabaseController.upsertSongReview(songReview), songReview);
+    }
+
+    // Users
+
+    @Override
+    public List<User> getUsers() {
+        return journal.getModel().getUsers();
+    }
+
+    @Override
+    public Optional<User> getUserByEmail(String email) {
+        return Optional.ofNullable(journal.getModel().getUser(email));
+    }
+
+    @Override
+    public synchronized boolean addUser(User user) {
+        return saveUser(userDatabaseController.addUser(user), ChangeType.USER_ADDED, user, user.getEmail().toString());
+    }
+
+    @Override
+    public synchronized boolean updateUser(User user, String key) {
+        return saveUser(userDatabaseController.updateUser(user, key), ChangeType.USER_UPDATED, user, key);
+    }
+
+    @Override
+    public synchronized boolean updateMyAccount(User user, String key) {
+        return saveUser(userDatabaseController.updateMyAccount(user, key), ChangeType.USER_UPDATED, user, key);
+    }
+
+    @Override
+    public synchronized boolean removeUser(String key) {
+
+        final boolean removed = userDatabaseController.removeUser(key);
+
+        if(removed) {
+            journal.append(ChangeType.USER_REMOVED, key, model -> model.withoutUser(key));
+        }
+
+        return removed;
+    }
+
+    // Playlists
+
+    @Override
+    public synchronized boolean addPlayList(Playlist updatedPlaylist, User user) {
+        return savePlaylists(playlistDatabaseController.addPlayList(updatedPlaylist, user), user);
+    }
+
+    @Override
+    public synchronized boolean updatePlayList(String newName, Playlist playlist, User user) {
+        return reloadPlaylists(playlistDatabaseController.updatePlayList(newName, playlist, user), user);
+    }
+
+    @Override
+    public synchronized boolean deletePlayList(Playlist playList, User user) {
+        return reloadPlaylists(playlistDatabaseController.deletePlayList(playList, user), user);
+    }
+
+    @Override
+    public synchronized boolean addToFavourites(Playlist favourites, User user) {
+        return savePlaylists(playlistDatabaseController.addToFavourites(favourites, user), user);
+    }
+
+    @Override
+    public void flushPlaylists() {
+        playlistDatabaseController.flushPlaylists();
+    }
+
+    @Override
+    public void flushPlaylists(User user) {
+        playlistDatabaseController.flushPlaylists(user);
+    }
+
+    @Override
+    public long getFailedWrites() {
+        return playlistDatabaseController.getFailedWrites();
+    }
+
+    // Statistics
+
+    public ChangeJournal getJournal() {
+        return journal;
+    }
+
+    @Override
+    public String toString() {
+        ReadModel model = journal.getModel();
+        return "InMemoryDatabaseController{" +
+                "users=" + model.getUserCount() +
+                ", songs=" + model.getSongCount() +
+                ", reviews=" + model.getReviewCount() +
+                ", journalSequence=" + journal.getSequence() +
+                '}';
+    }
+
+    private boolean saveSongReview(boolean saved, SongReview songReview) {
+
+        if(saved) {
+            journal.append(ChangeType.REVIEW_SAVED, songReview.getSongTitle(), model -> model.withReview(songReview));
+        }
+
+        return saved;
+    }
+
+    private boolean saveUser(boolean saved, ChangeType type, User user, String key) {
+
+        if(saved) {
+            // Read the stored row back so the model keeps the stored photo and the playlists moved along with the email
+            final User storedUser = userDatabaseController.getUserByEmail(user.getEmail().toString()).orElse(user);
+            journal.append(type, key, model -> model.withoutUser(key).withUser(storedUser));
+        }
+
+        return saved;
+    }
+
+    private boolean savePlaylists(boolean saved, User user) {
+
+        if(saved) {
+            journal.append(ChangeType.PLAYLISTS_CHANGED, user.getEmail().toString(), model -> model.withUser(user));
+        }
+
+        return saved;
+    }
+
+    private boolean reloadPlaylists(boolean saved, User user) {
+
+        if(saved) {
+            // The user is only changed by the caller once this returns, so the stored playlists are read back instead
+            final String email = user.getEmail().toString();
+            userDatabaseController.getUserByEmail(email).ifPresent(storedUser ->
+                    journal.append(ChangeType.PLAYLISTS_CHANGED, email, model -> model.withUser(storedUser)));
+        }
+
+        return saved;
+    }
+
+    private ReadModel load() {
+
+        final long startTime = System.nanoTime();
+
+        List<User> users = userDatabaseController.getUsers();
+        List<Song> songs = songDatabaseController.getSongs();
+        List<SongReview> reviews = songDatabaseController.getSongReviews();
+
+        // Photos are copied into the image store once here, so opening one later never reaches the database
+        Map<String, File> songPhotos = new HashMap<>();
+
+        for(Song song : songs) {
+            File photo = songDatabaseController.openSongPhoto(song.getTitle());
+            if(photo != null) {
+                songPhotos.put(song.getTitle(), photo);
+            }
+        }
+
+        ReadModel model = new ReadModel(users, songs, songPhotos, reviews != null ? reviews : new ArrayList<>());
+
+        Logger.getGlobal().info("Loaded " + model.getUserCount() + " users, " + model.getSongCount() + " songs and "
+                + model.getReviewCount() + " reviews into memory in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+
+        return model;
+    }
+}
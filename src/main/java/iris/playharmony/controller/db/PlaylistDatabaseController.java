@@ -1,76 +1,735 @@
 package iris.playharmony.controller.db;
 
-import iris.playharmony.controller.db.sql.SQLStatement;
-import iris.playharmony.controller.db.sql.SQLUpdateQuery;
-import iris.playharmony.controller.db.sql.SQLWriteQuery;
+import com.google.gson.reflect.TypeToken;
+import iris.playharmony.controller.db.sql.*;
 import iris.playharmony.model.Playlist;
+import iris.playharmony.model.Song;
 import iris.playharmony.model.User;
-import iris.playharmony.util.Json;
+import iris.playharmony.util.JsonCodec;
+
+import java.lang.reflect.Type;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class PlaylistDatabaseController extends AbstractDatabaseController implements IPlaylistDatabaseController {
 
-    private static final String USER_TABLE_NAME = "USERS";
+    private static final String USERS_TABLE_NAME = "USERS";
 
-    private static final SQLWriteQuery SQL_QUERY_UPDATE_PLAYLIST = new SQLUpdateQuery(USER_TABLE_NAME,
-            "email",
-            "playlist");
+    private static final String PLAYLISTS_TABLE_NAME = "PLAYLISTS";
+
+    private static final String PLAYLIST_SONGS_TABLE_NAME = "PLAYLIST_SONGS";
+
+    private static final SQLReadQuery<Long> SQL_QUERY_GET_PLAYLIST_KEY = new SQLReadQuery<>(
+            "PLAYLISTS WHERE user_email = ? AND favourites = 0 AND name = ?",
+            new String[] {"pk"}, row -> row.getLong("pk"));
+
+    private static final SQLReadQuery<Long> SQL_QUERY_GET_FAVOURITES_KEY = new SQLReadQuery<>(
+            "PLAYLISTS WHERE user_email = ? AND favourites = 1",
+            new String[] {"pk"}, row -> row.getLong("pk"));
+
+    private static final SQLReadQuery<Long> SQL_QUERY_GET_USER_PLAYLIST_KEYS = new SQLReadQuery<>(
+            "PLAYLISTS WHERE user_email = ?",
+            new String[] {"pk"}, row -> row.getLong("pk"));
+
+    private static final SQLReadQuery<Map.Entry<String, Integer>> SQL_QUERY_GET_PLAYLIST_SONGS = new SQLReadQuery<>(
+            "PLAYLIST_SONGS WHERE playlist_pk = ?",
+            new String[] {"song_title", "position"},
+            row -> new AbstractMap.SimpleImmutableEntry<>(row.getString("song_title"), row.getInt("position")));
+
+    private static final String SQL_QUERY_GET_PLAYLISTS = "PLAYLISTS p "
+            + "LEFT JOIN PLAYLIST_SONGS ps ON ps.playlist_pk = p.pk "
+            + "LEFT JOIN SONGS s ON s.title = ps.song_title";
+
+    private static final String[] PLAYLIST_COLUMNS = {"p.pk", "p.user_email", "p.name", "p.favourites",
+            "s.title", "s.author", "s.publication", "s.pathFile"};
+
+    private static final SQLReadQuery<PlaylistRow> SQL_QUERY_GET_ALL_PLAYLISTS = new SQLReadQuery<>(
+            SQL_QUERY_GET_PLAYLISTS + " ORDER BY p.pk, ps.position",
+            PLAYLIST_COLUMNS, PlaylistDatabaseController::readPlaylistRow);
+
+    private static final SQLReadQuery<PlaylistRow> SQL_QUERY_GET_USER_PLAYLISTS = new SQLReadQuery<>(
+            SQL_QUERY_GET_PLAYLISTS + " WHERE p.user_email = ? ORDER BY p.pk, ps.position",
+            PLAYLIST_COLUMNS, PlaylistDatabaseController::readPlaylistRow);
+
+    private static final SQLReadQuery<JsonPlaylists> SQL_QUERY_GET_JSON_PLAYLISTS = new SQLReadQuery<>(
+            "USERS WHERE playlist IS NOT NULL OR favourites IS NOT NULL",
+            new String[] {"email", "playlist", "favourites"}, PlaylistDatabaseController::readJsonPlaylists);
+
+    private static final SQLWriteQuery SQL_QUERY_INSERT_PLAYLIST = new SQLInsertQuery(PLAYLISTS_TABLE_NAME,
+            "user_email", "name", "favourites");
+
+    private static final SQLWriteQuery SQL_QUERY_RENAME_PLAYLIST = new SQLUpdateQuery(PLAYLISTS_TABLE_NAME,
+            "pk",
+            "name");
+
+    private static final SQLWriteQuery SQL_QUERY_UPDATE_PLAYLISTS_EMAIL = new SQLUpdateQuery(PLAYLISTS_TABLE_NAME,
+            "user_email",
+            "user_email");
+
+    private static final SQLWriteQuery SQL_QUERY_DELETE_PLAYLIST = new SQLDeleteByKeyQuery(PLAYLISTS_TABLE_NAME, "pk");
+
+    private static final SQLWriteQuery SQL_QUERY_INSERT_PLAYLIST_SONG = new SQLInsertQuery(PLAYLIST_SONGS_TABLE_NAME,
+            "playlist_pk", "position", "song_title");
+
+    private static final SQLWriteQuery SQL_QUERY_DELETE_PLAYLIST_SONG = new SQLDeleteQuery(PLAYLIST_SONGS_TABLE_NAME,
+            "playlist_pk", "song_title");
+
+    private static final SQLWriteQuery SQL_QUERY_DELETE_PLAYLIST_SONGS = new SQLDeleteByKeyQuery(PLAYLIST_SONGS_TABLE_NAME, "playlist_pk");
+
+    // A playlist that already holds the new title keeps that row, its old row is deleted afterwards
+    private static final SQLWriteQuery SQL_QUERY_RENAME_SONG = new SQLUpdateQuery(SQLUpdateQuery.OnConflict.IGNORE,
+            PLAYLIST_SONGS_TABLE_NAME,
+            "song_title",
+            "song_title");
 
-    private static final SQLWriteQuery SQL_QUERY_UPDATE_FAVOURITES = new SQLUpdateQuery(USER_TABLE_NAME,
+    private static final SQLWriteQuery SQL_QUERY_DELETE_SONG = new SQLDeleteByKeyQuery(PLAYLIST_SONGS_TABLE_NAME, "song_title");
+
+    private static final SQLWriteQuery SQL_QUERY_CLEAR_JSON_PLAYLISTS = new SQLUpdateQuery(USERS_TABLE_NAME,
             "email",
-            "favourites");
+            "playlist", "favourites");
+
+    private static final Type PLAYLISTS_TYPE = new TypeToken<List<Playlist>>(){}.getType();
+
+    private static final long NO_KEY = -1;
+
+    private static final long WRITE_BEHIND_DELAY_MILLIS = Long.getLong("playharmony.playlists.writeBehindMillis", 500);
+
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
 
+    private final Map<String, Map<String, PendingPlaylist>> pendingPlaylists;
+    private final Object flushLock;
+    private final ScheduledExecutorService playlistWriter;
+    private ScheduledFuture<?> scheduledFlush;
+    private long retryDelayMillis;
+
+    // Statistics
+    private final AtomicLong queuedWrites;
+    private final AtomicLong coalescedWrites;
+    private final AtomicLong flushedWrites;
+    private final AtomicLong failedWrites;
 
     public PlaylistDatabaseController() {
+        pendingPlaylists = new LinkedHashMap<>();
+        flushLock = new Object();
+        playlistWriter = Executors.newSingleThreadScheduledExecutor(createThreadFactory());
+        queuedWrites = new AtomicLong();
+        coalescedWrites = new AtomicLong();
+        flushedWrites = new AtomicLong();
+        failedWrites = new AtomicLong();
+        migrateJsonPlaylists();
     }
 
     @Override
     public boolean addPlayList(Playlist playlist, User user) {
 
-        removeUserPlaylist(playlist, user);
+        user.removePlayList(playlist);
 
         user.addPlayList(playlist);
 
-        return updateUserPlaylists(SQL_QUERY_UPDATE_PLAYLIST, "playlist", Json.toJson(user.getPlayLists()), user);
+        return queuePlaylist(user.getEmail().toString(), playlist, false);
     }
 
     @Override
     public boolean updatePlayList(String newName, Playlist playlist, User user){
-        removeUserPlaylist(playlist, user);
 
-        playlist.setName(newName);
+        final String userEmail = user.getEmail().toString();
 
-        user.addPlayList(playlist);
+        flushPlaylists(userEmail);
+
+        final long playlistKey = getPlaylistKey(userEmail, playlist.getName(), false);
+
+        if(playlistKey != NO_KEY) {
+            return renamePlaylist(playlistKey, newName);
+        }
 
-        return updateUserPlaylists(SQL_QUERY_UPDATE_PLAYLIST, "playlist", Json.toJson(user.getPlayLists()), user);
+        Playlist renamedPlaylist = new Playlist(newName);
+        renamedPlaylist.getSongList().addAll(playlist.getSongList());
+
+        return savePlaylist(userEmail, renamedPlaylist, false);
     }
 
     @Override
     public boolean deletePlayList(Playlist playList, User user) {
 
-        removeUserPlaylist(playList, user);
+        final String userEmail = user.getEmail().toString();
 
-        return updateUserPlaylists(SQL_QUERY_UPDATE_PLAYLIST, "playlist", Json.toJson(user.getPlayLists()), user);
-    }
+        flushPlaylists(userEmail);
 
+        final long playlistKey = getPlaylistKey(userEmail, playList.getName(), false);
+
+        return playlistKey == NO_KEY || inTransaction(() -> deletePlaylist(playlistKey));
+    }
 
     @Override
     public boolean addToFavourites(Playlist favourites, User user) {
 
         user.favourites(favourites);
 
-        return updateUserPlaylists(SQL_QUERY_UPDATE_FAVOURITES, "favourites", Json.toJson(favourites), user);
+        return queuePlaylist(user.getEmail().toString(), favourites, true);
     }
 
-    private void removeUserPlaylist(Playlist playlist, User user) {
-        user.getPlayLists().removeIf(pl -> pl.getName().equals(playlist.getName()));
+    @Override
+    public void flushPlaylists() {
+        synchronized (flushLock) {
+
+            Map<String, Map<String, PendingPlaylist>> playlists;
+
+            synchronized (pendingPlaylists) {
+                playlists = new LinkedHashMap<>(pendingPlaylists);
+                pendingPlaylists.clear();
+                cancelScheduledFlush();
+            }
+
+            playlists.forEach(this::writePendingPlaylists);
+        }
     }
 
-    private boolean updateUserPlaylists(SQLWriteQuery sql, String paramName, String json, User user) {
+    @Override
+    public void flushPlaylists(User user) {
+        flushPlaylists(user.getEmail().toString());
+    }
+
+    public int getPendingWrites() {
+        synchronized (pendingPlaylists) {
+            return pendingPlaylists.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+
+    public long getQueuedWrites() {
+        return queuedWrites.get();
+    }
+
+    public long getCoalescedWrites() {
+        return coalescedWrites.get();
+    }
+
+    public long getFlushedWrites() {
+        return flushedWrites.get();
+    }
+
+    @Override
+    public long getFailedWrites() {
+        return failedWrites.get();
+    }
+
+    public void loadPlaylists(User user) {
+
+        flushPlaylists(user.getEmail().toString());
+
+        try(Stream<PlaylistRow> rows = SQL_QUERY_GET_USER_PLAYLISTS.stream(getDBConnection(), user.getEmail().toString())) {
+            readPlaylists(rows, Collections.singletonMap(user.getEmail().toString(), user));
+        } catch(SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public void loadPlaylists(List<User> users) {
+
+        Map<String, User> usersByEmail = new HashMap<>();
+
+        users.forEach(user -> usersByEmail.put(user.getEmail().toString(), user));
+
+        flushPlaylists();
+
+        try(Stream<PlaylistRow> rows = SQL_QUERY_GET_ALL_PLAYLISTS.stream(getDBConnection())) {
+            readPlaylists(rows, usersByEmail);
+        } catch(SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // The playlists queued for oldEmail have to be flushed first, outside of the caller's transaction
+    public boolean changeUserEmail(String oldEmail, String newEmail) {
+
+        if(oldEmail.equals(newEmail)) {
+            return true;
+        }
+
+        try(SQLStatement statement = SQL_QUERY_UPDATE_PLAYLISTS_EMAIL.prepareStatement(getDBConnection())) {
+
+            statement.setKey("user_email", oldEmail)
+                    .set("user_email", newEmail);
+
+            return statement.execute() != SQLStatement.ERROR_CODE;
+
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    // Runs inside the transaction that renames the song, after the queued playlists were flushed
+    public boolean renameSong(String oldTitle, String newTitle) {
+
+        if(oldTitle.equals(newTitle)) {
+            return true;
+        }
+
+        try(SQLStatement statement = SQL_QUERY_RENAME_SONG.prepareStatement(getDBConnection())) {
+
+            statement.setKey("song_title", oldTitle)
+                    .set("song_title", newTitle);
+
+            return statement.execute() != SQLStatement.ERROR_CODE && deleteSong(oldTitle);
+
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    // Runs inside the transaction that deletes the song, after the queued playlists were flushed
+    public boolean deleteSong(String title) {
+
+        try(SQLStatement statement = SQL_QUERY_DELETE_SONG.prepareStatement(getDBConnection())) {
+
+            statement.setKey("song_title", title);
+
+            return statement.execute() != SQLStatement.ERROR_CODE;
+
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    public boolean deleteUserPlaylists(String userEmail) {
+
+        // Nothing queued for this user should be written once its playlists are gone
+        synchronized (pendingPlaylists) {
+            pendingPlaylists.remove(userEmail);
+        }
+
+        return inTransaction(() -> {
+
+            boolean deleted = true;
+
+            for(long playlistKey : getUserPlaylistKeys(userEmail)) {
+                deleted &= deletePlaylist(playlistKey);
+            }
+
+            return deleted;
+        });
+    }
+
+    // Write-behind
+
+    private boolean queuePlaylist(String userEmail, Playlist playlist, boolean favourites) {
+
+        PendingPlaylist pendingPlaylist = new PendingPlaylist(playlist, favourites);
+
+        synchronized (pendingPlaylists) {
+
+            Map<String, PendingPlaylist> userPlaylists = pendingPlaylists.computeIfAbsent(userEmail, email -> new LinkedHashMap<>());
+
+            if(userPlaylists.put(pendingPlaylist.getKey(), pendingPlaylist) != null) {
+                coalescedWrites.incrementAndGet();
+            }
+
+            queuedWrites.incrementAndGet();
+
+            if(scheduledFlush == null) {
+                scheduledFlush = playlistWriter.schedule(() -> flushPlaylists(), WRITE_BEHIND_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        return true;
+    }
+
+    public void flushPlaylists(String userEmail) {
+        synchronized (flushLock) {
+
+            Map<String, PendingPlaylist> playlists;
+
+            synchronized (pendingPlaylists) {
+                playlists = pendingPlaylists.remove(userEmail);
+                if(pendingPlaylists.isEmpty()) {
+                    cancelScheduledFlush();
+                }
+            }
+
+            if(playlists != null) {
+                writePendingPlaylists(userEmail, playlists);
+            }
+        }
+    }
+
+    private void writePendingPlaylists(String userEmail, Map<String, PendingPlaylist> playlists) {
+
+        final boolean written = inTransaction(() -> {
+
+            boolean saved = true;
+
+            for(PendingPlaylist pendingPlaylist : playlists.values()) {
+                saved &= savePlaylist(userEmail, pendingPlaylist.toPlaylist(), pendingPlaylist.favourites);
+            }
+
+            return saved;
+        });
+
+        if(written) {
+            flushedWrites.addAndGet(playlists.size());
+            synchronized (pendingPlaylists) {
+                retryDelayMillis = 0;
+            }
+            return;
+        }
+
+        failedWrites.addAndGet(playlists.size());
+
+        final long retryDelay;
+
+        // Keep the failed snapshots unless a newer one has been queued meanwhile
+        synchronized (pendingPlaylists) {
+
+            Map<String, PendingPlaylist> userPlaylists = pendingPlaylists.computeIfAbsent(userEmail, email -> new LinkedHashMap<>());
+            playlists.forEach(userPlaylists::putIfAbsent);
+
+            // A flush already scheduled retries them too
+            if(scheduledFlush == null) {
+                retryDelayMillis = Math.min(Math.max(WRITE_BEHIND_DELAY_MILLIS, retryDelayMillis * 2), MAX_RETRY_DELAY_MILLIS);
+                scheduledFlush = playlistWriter.schedule(() -> flushPlaylists(), retryDelayMillis, TimeUnit.MILLISECONDS);
+            }
+
+            retryDelay = scheduledFlush.getDelay(TimeUnit.MILLISECONDS);
+        }
+
+        Logger.getGlobal().severe("Cannot write the playlists of " + userEmail + ", they will be retried in "
+                + retryDelay + " ms");
+    }
+
+    private void cancelScheduledFlush() {
+        if(scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        return runnable -> {
+
+            Thread thread = new Thread(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    SQLConnectionManager.get().closeThreadConnection();
+                }
+            }, "playlist-writer");
+
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+    private boolean savePlaylist(String userEmail, Playlist playlist, boolean favourites) {
+        return inTransaction(() -> {
+
+            final long playlistKey = getOrCreatePlaylistKey(userEmail, playlist.getName(), favourites);
+
+            if(playlistKey == NO_KEY) {
+                return false;
+            }
+
+            Map<String, Integer> storedSongs = getPlaylistSongs(playlistKey);
+
+            Set<String> songTitles = new LinkedHashSet<>();
+
+            playlist.getSongList().stream()
+                    .filter(song -> song != null && song.getTitle() != null)
+                    .forEach(song -> songTitles.add(song.getTitle()));
+
+            List<String> removedTitles = storedSongs.keySet().stream()
+                    .filter(storedTitle -> !songTitles.contains(storedTitle))
+                    .collect(Collectors.toList());
+
+            List<String> addedTitles = songTitles.stream()
+                    .filter(songTitle -> !storedSongs.containsKey(songTitle))
+                    .collect(Collectors.toList());
+
+            final int nextPosition = storedSongs.values().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+
+            return deletePlaylistSongs(playlistKey, removedTitles) && insertPlaylistSongs(playlistKey, nextPosition, addedTitles);
+        });
+    }
+
+    private long getOrCreatePlaylistKey(String userEmail, String name, boolean favourites) throws SQLException {
+
+        final long playlistKey = getPlaylistKey(userEmail, name, favourites);
+
+        if(playlistKey != NO_KEY) {
+            return playlistKey;
+        }
+
+        try(SQLStatement statement = SQL_QUERY_INSERT_PLAYLIST.prepareStatement(getDBConnection())) {
+
+            statement.set("user_email", userEmail)
+                    .set("name", name)
+                    .set("favourites", favourites ? "1" : "0");
+
+            if(statement.execute() == SQLStatement.ERROR_CODE) {
+                return NO_KEY;
+            }
+
+        } catch(Exception e) {
+            e.printStackTrace();
+            return NO_KEY;
+        }
+
+        return getPlaylistKey(userEmail, name, favourites);
+    }
+
+    private long getPlaylistKey(String userEmail, String name, boolean favourites) {
+
+        try {
+
+            Optional<Long> playlistKey = favourites
+                    ? SQL_QUERY_GET_FAVOURITES_KEY.first(getDBConnection(), userEmail)
+                    : SQL_QUERY_GET_PLAYLIST_KEY.first(getDBConnection(), userEmail, name);
+
+            return playlistKey.orElse(NO_KEY);
+
+        } catch(SQLException e) {
+            e.printStackTrace();
+        }
+
+        return NO_KEY;
+    }
+
+    private List<Long> getUserPlaylistKeys(String userEmail) throws SQLException {
+        return SQL_QUERY_GET_USER_PLAYLIST_KEYS.list(getDBConnection(), userEmail);
+    }
+
+    private Map<String, Integer> getPlaylistSongs(long playlistKey) throws SQLException {
+
+        Map<String, Integer> songs = new HashMap<>();
+
+        for(Map.Entry<String, Integer> song : SQL_QUERY_GET_PLAYLIST_SONGS.list(getDBConnection(), playlistKey)) {
+            songs.put(song.getKey(), song.getValue());
+        }
+
+        return songs;
+    }
+
+    private boolean insertPlaylistSongs(long playlistKey, int firstPosition, List<String> songTitles) {
+
+        if(songTitles.isEmpty()) {
+            return true;
+        }
+
+        try(SQLStatement statement = SQL_QUERY_INSERT_PLAYLIST_SONG.prepareStatement(getDBConnection())) {
+
+            int position = firstPosition;
+
+            for(String songTitle : songTitles) {
+                statement.set("playlist_pk", String.valueOf(playlistKey))
+                        .set("position", String.valueOf(position++))
+                        .set("song_title", songTitle)
+                        .addBatch();
+            }
+
+            return statement.executeBatch() != SQLStatement.ERROR_CODE;
+
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    private boolean deletePlaylistSongs(long playlistKey, List<String> songTitles) {
+
+        if(songTitles.isEmpty()) {
+            return true;
+        }
+
+        try(SQLStatement statement = SQL_QUERY_DELETE_PLAYLIST_SONG.prepareStatement(getDBConnection())) {
+
+            for(String songTitle : songTitles) {
+                statement.setKey("playlist_pk", String.valueOf(playlistKey))
+                        .setKey("song_title", songTitle)
+                        .addBatch();
+            }
+
+            return statement.executeBatch() != SQLStatement.ERROR_CODE;
+
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    private boolean renamePlaylist(long playlistKey, String newName) {
+
+        try(SQLStatement statement = SQL_QUERY_RENAME_PLAYLIST.prepareStatement(getDBConnection())) {
+
+            statement.setKey("pk", String.valueOf(playlistKey))
+                    .set("name", newName);
+
+            return statement.execute() != SQLStatement.ERROR_CODE;
+
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    private boolean deletePlaylist(long playlistKey) {
+        return deleteByPlaylistKey(SQL_QUERY_DELETE_PLAYLIST_SONGS, "playlist_pk", playlistKey)
+                && deleteByPlaylistKey(SQL_QUERY_DELETE_PLAYLIST, "pk", playlistKey);
+    }
+
+    private boolean deleteByPlaylistKey(SQLWriteQuery sql, String keyName, long playlistKey) {
 
         try(SQLStatement statement = sql.prepareStatement(getDBConnection())) {
 
-            statement.setKey("email", user.getEmail().toString())
-                    .set(paramName, json);
+            statement.setKey(keyName, String.valueOf(playlistKey));
+
+            return statement.execute() != SQLStatement.ERROR_CODE;
+
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    private void readPlaylists(Stream<PlaylistRow> rows, Map<String, User> usersByEmail) {
+
+        Map<Long, Playlist> playlists = new HashMap<>();
+
+        rows.forEach(row -> {
+
+            User user = usersByEmail.get(row.userEmail);
+
+            if(user == null) {
+                return;
+            }
+
+            Playlist playlist = playlists.get(row.playlistKey);
+
+            if(playlist == null) {
+
+                playlist = new Playlist(row.name);
+
+                playlists.put(row.playlistKey, playlist);
+
+                if(row.favourites) {
+                    user.favourites(playlist);
+                } else {
+                    user.addPlayList(playlist);
+                }
+            }
+
+            if(row.song != null) {
+                playlist.getSongList().add(row.song);
+            }
+        });
+    }
+
+    private static PlaylistRow readPlaylistRow(SQLRow row) throws SQLException {
+
+        Song song = null;
+
+        if(row.getString("title") != null) {
+            song = new Song()
+                    .setTitle(row.getString("title"))
+                    .setAuthor(row.getString("author"))
+                    .setDate(row.getString("publication"))
+                    .setPathFile(row.getString("pathFile"));
+        }
+
+        return new PlaylistRow(row.getLong("pk"), row.getString("user_email"), row.getString("name"),
+                row.getBoolean("favourites"), song);
+    }
+
+    private static JsonPlaylists readJsonPlaylists(SQLRow row) throws SQLException {
+
+        return new JsonPlaylists(row.getString("email"),
+                JsonCodec.decode(row.getString("playlist"), PLAYLISTS_TYPE),
+                JsonCodec.decode(row.getString("favourites"), Playlist.class));
+    }
+
+    private boolean inTransaction(SQLAction<Boolean> action) {
+
+        try {
+            return SQLConnectionManager.get().inTransaction(action);
+        } catch(SQLException e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    // Migration
+
+    private void migrateJsonPlaylists() {
+        inTransaction(() -> {
+
+            boolean migrated = true;
+
+            for(JsonPlaylists jsonPlaylists : SQL_QUERY_GET_JSON_PLAYLISTS.list(getDBConnection())) {
+
+                if(jsonPlaylists.playlists != null) {
+                    for(Playlist playlist : jsonPlaylists.playlists) {
+                        migrated &= migrateJsonPlaylist(jsonPlaylists.userEmail, playlist, false);
+                    }
+                }
+
+                if(jsonPlaylists.favourites != null) {
+                    migrated &= migrateJsonPlaylist(jsonPlaylists.userEmail, jsonPlaylists.favourites, true);
+                }
+
+                migrated &= clearJsonPlaylists(jsonPlaylists.userEmail);
+            }
+
+            return migrated;
+        });
+    }
+
+    private boolean migrateJsonPlaylist(String userEmail, Playlist playlist, boolean favourites) {
+
+        if(playlist.getName() == null) {
+            return true;
+        }
+
+        if(playlist.getSongList() == null) {
+            playlist = new Playlist(playlist.getName());
+        }
+
+        return savePlaylist(userEmail, playlist, favourites);
+    }
+
+    private boolean clearJsonPlaylists(String userEmail) {
+
+        try(SQLStatement statement = SQL_QUERY_CLEAR_JSON_PLAYLISTS.prepareStatement(getDBConnection())) {
+
+            statement.setKey("email", userEmail)
+                    .set("playlist", (String) null)
+                    .set("favourites", (String) null);
 
             return statement.execute() != SQLStatement.ERROR_CODE;
 
@@ -80,4 +739,58 @@ public class PlaylistDatabaseController extends AbstractDatabaseController imple
 
         return false;
     }
+
+    private static final class PlaylistRow {
+
+        private final long playlistKey;
+        private final String userEmail;
+        private final String name;
+        private final boolean favourites;
+        private final Song song;
+
+        private PlaylistRow(long playlistKey, String userEmail, String name, boolean favourites, Song song) {
+            this.playlistKey = playlistKey;
+            this.userEmail = userEmail;
+            this.name = name;
+            this.favourites = favourites;
+            this.song = song;
+        }
+    }
+
+    private static final class PendingPlaylist {
+
+        private final String name;
+        private final boolean favourites;
+        private final List<Song> songs;
+
+        // Copies the song list, the views keep editing the original
+        private PendingPlaylist(Playlist playlist, boolean favourites) {
+            this.name = playlist.getName();
+            this.favourites = favourites;
+            this.songs = new ArrayList<>(playlist.getSongList());
+        }
+
+        private String getKey() {
+            return favourites ? "favourites" : "playlist:" + name;
+        }
+
+        private Playlist toPlaylist() {
+            Playlist playlist = new Playlist(name);
+            playlist.getSongList().addAll(songs);
+            return playlist;
+        }
+    }
+
+    private static final class JsonPlaylists {
+
+        private final String userEmail;
+        private final List<Playlist> playlists;
+        private final Playlist favourites;
+
+        private JsonPlaylists(String userEmail, List<Playlist> playlists, Playlist favourites) {
+            this.userEmail = userEmail;
+            this.playlists = playlists;
+            this.favourites = favourites;
+        }
+    }
 }
@@ -0,0 +1,383 @@
+package iris.playharmony.controller.db;
+
+import iris.playharmony.model.Playlist;
+import iris.playharmony.model.RatingSummary;
+import iris.playharmony.model.Song;
+import iris.playharmony.model.SongReview;
+import iris.playharmony.model.SongSort;
+import iris.playharmony.model.User;
+
+import java.io.File;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+final class ReadModel {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final Map<String, User> usersByEmail;
+    private final SongCatalog songs;
+    private final Map<SongSort, List<Song>> songsBySort;
+    private final List<IndexedSong> searchIndex;
+    private final Map<String, File> songPhotos;
+    private final Map<String, List<SongReview>> reviewsBySong;
+    private final Map<String, RatingSummary> ratingSummaries;
+
+    ReadModel(Collection<User> users, Collection<Song> songs, Map<String, File> songPhotos, Collection<SongReview> reviews) {
+        this(indexUsers(users), new SongCatalog(songs), new HashMap<>(songPhotos), indexReviews(reviews));
+    }
+
+    private ReadModel(Map<String, User> usersByEmail, SongCatalog songs, Map<String, File> songPhotos,
+                      Map<String, List<SongReview>> reviewsBySong) {
+        this(usersByEmail, songs, sortSongs(songs), indexSongWords(songs), songPhotos, reviewsBySong,
+                summarize(reviewsBySong));
+    }
+
+    private ReadModel(Map<String, User> usersByEmail, SongCatalog songs, Map<SongSort, List<Song>> songsBySort,
+                      List<IndexedSong> searchIndex, Map<String, File> songPhotos,
+                      Map<String, List<SongReview>> reviewsBySong, Map<String, RatingSummary> ratingSummaries) {
+        this.usersByEmail = Collections.unmodifiableMap(usersByEmail);
+        this.songs = songs;
+        this.songsBySort = songsBySort;
+        this.searchIndex = searchIndex;
+        this.songPhotos = Collections.unmodifiableMap(songPhotos);
+        this.reviewsBySong = Collections.unmodifiableMap(reviewsBySong);
+        this.ratingSummaries = Collections.unmodifiableMap(ratingSummaries);
+    }
+
+    // Users
+
+    List<User> getUsers() {
+        return usersByEmail.values().stream().map(ReadModel::copyOf).collect(Collectors.toList());
+    }
+
+    User getUser(String email) {
+        User user = usersByEmail.get(email);
+        return user != null ? copyOf(user) : null;
+    }
+
+    int getUserCount() {
+        return usersByEmail.size();
+    }
+
+    ReadModel withUser(User user) {
+        LinkedHashMap<String, User> newUsers = new LinkedHashMap<>(usersByEmail);
+        newUsers.put(user.getEmail().toString(), copyOf(user));
+        return withUsers(newUsers);
+    }
+
+    ReadModel withoutUser(String email) {
+
+        if(!usersByEmail.containsKey(email)) {
+            return this;
+        }
+
+        LinkedHashMap<String, User> newUsers = new LinkedHashMap<>(usersByEmail);
+        newUsers.remove(email);
+        return withUsers(newUsers);
+    }
+
+    // Songs
+
+    List<Song> getSongs() {
+        return songs.getSongs();
+    }
+
+    List<Song> getSongsPage(Song after, int limit, SongSort sort) {
+
+        if(sort == SongSort.TITLE) {
+            return songs.getPage(after == null ? null : after.getTitle(), limit);
+        }
+
+        List<Song> sortedSongs = songsBySort.get(sort);
+
+        int from = 0;
+
+        if(after != null) {
+            // The song may have been changed or deleted since, then the page starts where it would be now
+            int index = Collections.binarySearch(sortedSongs, after, comparator(sort));
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+
+        return sortedSongs.subList(from, Math.min(sortedSongs.size(), from + limit)).stream()
+                .map(SongCatalog::copyOf)
+                .collect(Collectors.toList());
+    }
+
+    List<Song> searchSongs(String query, int limit) {
+
+        final List<String> terms = toWords(query);
+
+        if(terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return searchIndex.stream()
+                .filter(indexedSong -> indexedSong.matches(terms))
+                .map(indexedSong -> SongCatalog.copyOf(indexedSong.song))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    Song getSong(String title) {
+        return songs.get(title);
+    }
+
+    File getSongPhoto(String title) {
+        return songPhotos.get(title);
+    }
+
+    int getSongCount() {
+        return songs.size();
+    }
+
+    ReadModel withSong(Song song, File photo) {
+
+        Map<String, File> newSongPhotos = new HashMap<>(songPhotos);
+
+        if(photo != null) {
+            newSongPhotos.put(song.getTitle(), photo);
+        } else {
+            newSongPhotos.remove(song.getTitle());
+        }
+
+        return withSongs(songs.with(song), newSongPhotos);
+    }
+
+    ReadModel withoutSong(String title) {
+
+        if(!songs.contains(title)) {
+            return this;
+        }
+
+        Map<String, File> newSongPhotos = new HashMap<>(songPhotos);
+        newSongPhotos.remove(title);
+        return withSongs(songs.without(title), newSongPhotos);
+    }
+
+    // Same as PLAYLIST_SONGS: a renamed song keeps its position and a deleted one (song is null) is removed
+    ReadModel withSongInPlaylists(String title, Song song) {
+
+        LinkedHashMap<String, User> newUsers = new LinkedHashMap<>();
+
+        usersByEmail.forEach((email, user) -> {
+            User newUser = copyOf(user);
+            newUser.getPlayLists().forEach(playlist -> replaceSong(playlist, title, song));
+            if(newUser.favourites() != null) {
+                replaceSong(newUser.favourites(), title, song);
+            }
+            newUsers.put(email, newUser);
+        });
+
+        return withUsers(newUsers);
+    }
+
+    // Reviews
+
+    List<SongReview> getSongReviews() {
+        return reviewsBySong.values().stream()
+                .flatMap(List::stream)
+                .map(ReadModel::copyOf)
+                .collect(Collectors.toList());
+    }
+
+    Map<String, RatingSummary> getRatingSummaries() {
+        return ratingSummaries;
+    }
+
+    RatingSummary getRatingSummary(String songTitle) {
+        return ratingSummaries.getOrDefault(songTitle, RatingSummary.EMPTY);
+    }
+
+    int getReviewCount() {
+        return reviewsBySong.values().stream().mapToInt(List::size).sum();
+    }
+
+    ReadModel withReview(SongReview songReview) {
+
+        final String songTitle = songReview.getSongTitle();
+
+        List<SongReview> songReviews = new ArrayList<>(reviewsBySong.getOrDefault(songTitle, Collections.emptyList()));
+
+        SongReview previousReview = songReviews.stream()
+                .filter(review -> isSameReview(review, songReview))
+                .findFirst()
+                .orElse(null);
+
+        SongReview newReview = copyOf(songReview);
+
+        if(previousReview != null) {
+            songReviews.remove(previousReview);
+            if(newReview.getId() == 0) {
+                newReview.setId(previousReview.getId());
+            }
+        }
+
+        songReviews.add(newReview);
+
+        Map<String, List<SongReview>> newReviewsBySong = new HashMap<>(reviewsBySong);
+        newReviewsBySong.put(songTitle, Collections.unmodifiableList(songReviews));
+
+        Map<String, RatingSummary> newRatingSummaries = new HashMap<>(ratingSummaries);
+        newRatingSummaries.put(songTitle, summarize(songReviews));
+
+        return new ReadModel(usersByEmail, songs, songsBySort, searchIndex, songPhotos, newReviewsBySong, newRatingSummaries);
+    }
+
+    private ReadModel withUsers(Map<String, User> newUsers) {
+        return new ReadModel(newUsers, songs, songsBySort, searchIndex, songPhotos, reviewsBySong, ratingSummaries);
+    }
+
+    private ReadModel withSongs(SongCatalog newSongs, Map<String, File> newSongPhotos) {
+        return new ReadModel(usersByEmail, newSongs, sortSongs(newSongs), indexSongWords(newSongs), newSongPhotos,
+                reviewsBySong, ratingSummaries);
+    }
+
+    private static void replaceSong(Playlist playlist, String title, Song song) {
+
+        List<Song> songs = playlist.getSongList();
+
+        for(int i = 0;i < songs.size();i++) {
+
+            if(!title.equals(songs.get(i).getTitle())) {
+                continue;
+            }
+
+            if(song == null || (!title.equals(song.getTitle()) && songs.contains(song))) {
+                songs.remove(i);
+            } else {
+                songs.set(i, song);
+            }
+
+            return;
+        }
+    }
+
+    private static boolean isSameReview(SongReview review, SongReview other) {
+
+        if(review.getId() != 0 && review.getId() == other.getId()) {
+            return true;
+        }
+
+        return Objects.equals(review.getUser(), other.getUser()) && Objects.equals(review.getSongTitle(), other.getSongTitle());
+    }
+
+    private static LinkedHashMap<String, User> indexUsers(Collection<User> users) {
+        LinkedHashMap<String, User> usersByEmail = new LinkedHashMap<>();
+        users.forEach(user -> usersByEmail.put(user.getEmail().toString(), copyOf(user)));
+        return usersByEmail;
+    }
+
+    private static Map<String, List<SongReview>> indexReviews(Collection<SongReview> reviews) {
+        return reviews.stream().map(ReadModel::copyOf).collect(Collectors.groupingBy(SongReview::getSongTitle,
+                Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList)));
+    }
+
+    private static Map<String, RatingSummary> summarize(Map<String, List<SongReview>> reviewsBySong) {
+        Map<String, RatingSummary> ratingSummaries = new HashMap<>();
+        reviewsBySong.forEach((songTitle, reviews) -> ratingSummaries.put(songTitle, summarize(reviews)));
+        return ratingSummaries;
+    }
+
+    private static RatingSummary summarize(List<SongReview> reviews) {
+        return new RatingSummary(reviews.stream().mapToDouble(SongReview::getRating).average().orElse(0), reviews.size());
+    }
+
+    private static Map<SongSort, List<Song>> sortSongs(SongCatalog songs) {
+
+        Map<SongSort, List<Song>> songsBySort = new EnumMap<>(SongSort.class);
+
+        // Title order is already served by the catalog
+        for(SongSort sort : SongSort.values()) {
+            if(sort != SongSort.TITLE) {
+                List<Song> sortedSongs = songs.getSongs();
+                sortedSongs.sort(comparator(sort));
+                songsBySort.put(sort, Collections.unmodifiableList(sortedSongs));
+            }
+        }
+
+        return Collections.unmodifiableMap(songsBySort);
+    }
+
+    // Same order as SQLite's "ORDER BY <column>, title": NULLs first, then binary comparison
+    private static Comparator<Song> comparator(SongSort sort) {
+
+        return Comparator.comparing(sort::getValue, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(Song::getTitle, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+    }
+
+    private static List<IndexedSong> indexSongWords(SongCatalog songs) {
+        return Collections.unmodifiableList(songs.getSongs().stream()
+                .map(song -> new IndexedSong(song, toWords(song.getTitle() + " " + song.getAuthor())))
+                .collect(Collectors.toList()));
+    }
+
+    // Mirrors the FTS5 unicode61 tokenizer: case and diacritics are ignored and words are split on punctuation
+    private static List<String> toWords(String text) {
+
+        if(text == null) {
+            return Collections.emptyList();
+        }
+
+        String normalizedText = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+
+        return Arrays.stream(WORD_SEPARATOR.split(normalizedText.toLowerCase()))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static User copyOf(User user) {
+
+        List<Playlist> playlists = user.getPlayLists() != null
+                ? user.getPlayLists().stream().map(ReadModel::copyOf).collect(Collectors.toList())
+                : new ArrayList<>();
+
+        return new User(user.getPhoto(), user.getName(), user.getSurname(), user.getCategory(), user.getRole(),
+                user.getEmail(), playlists)
+                .setPassword(user.getPassword())
+                .favourites(user.favourites() != null ? copyOf(user.favourites()) : null);
+    }
+
+    private static Playlist copyOf(Playlist playlist) {
+        Playlist copy = new Playlist(playlist.getName());
+        playlist.getSongList().stream().map(SongCatalog::copyOf).forEach(copy.getSongList()::add);
+        return copy;
+    }
+
+    private static SongReview copyOf(SongReview songReview) {
+        return new SongReview()
+                .setId(songReview.getId())
+                .setUser(songReview.getUser())
+                .setSongTitle(songReview.getSongTitle())
+                .setRating(songReview.getRating());
+    }
+
+    private static final class IndexedSong {
+
+        private final Song song;
+        private final List<String> words;
+
+        private IndexedSong(Song song, List<String> words) {
+            this.song = song;
+            this.words = words;
+        }
+
+        // Every term has to prefix some word, like the "term"* queries sent to SONGS_FTS
+        private boolean matches(List<String> terms) {
+            return terms.stream().allMatch(term -> words.stream().anyMatch(word -> word.startsWith(term)));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package iris.playharmony.controller.db;
+
+import iris.playharmony.controller.db.sql.SQLConnectionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class SchemaMigrator extends AbstractDatabaseController {
+
+    // Append new migrations at the end with the next version. Never edit or reorder the applied ones
+    private static final List<SchemaMigration> MIGRATIONS = Collections.unmodifiableList(Arrays.asList(
+
+            new SchemaMigration(1, "Create base tables",
+                    "CREATE TABLE IF NOT EXISTS SONGS (title TEXT, author TEXT, photo BLOB, publication TEXT, pathFile TEXT)",
+                    "CREATE TABLE IF NOT EXISTS USERS (photo BLOB, name TEXT, surname TEXT, category TEXT, user_role TEXT, "
+                            + "email TEXT, password TEXT, playlist TEXT, favourites TEXT)",
+                    "CREATE TABLE IF NOT EXISTS SONG_REVIEWS (pk INTEGER PRIMARY KEY AUTOINCREMENT, "
+                            + "user TEXT, song_title TEXT, rating REAL)"),
+
+            new SchemaMigration(2, "Index users, songs and reviews by their lookup columns",
+                    "CREATE INDEX IF NOT EXISTS USERS_EMAIL ON USERS (email)",
+                    "CREATE INDEX IF NOT EXISTS SONGS_TITLE ON SONGS (title)",
+                    "CREATE INDEX IF NOT EXISTS SONG_REVIEWS_SONG_TITLE ON SONG_REVIEWS (song_title)"),
+
+            new SchemaMigration(3, "Index songs by their sort orders",
+                    "CREATE INDEX IF NOT EXISTS SONGS_AUTHOR_TITLE ON SONGS (author, title)",
+                    "CREATE INDEX IF NOT EXISTS SONGS_PUBLICATION_TITLE ON SONGS (publication, title)"),
+
+            new SchemaMigration(4, "Create playlist tables",
+                    "CREATE TABLE IF NOT EXISTS PLAYLISTS (pk INTEGER PRIMARY KEY AUTOINCREMENT, "
+                            + "user_email TEXT NOT NULL, name TEXT NOT NULL, favourites INTEGER NOT NULL DEFAULT 0, "
+                            + "UNIQUE (user_email, favourites, name))",
+                    "CREATE TABLE IF NOT EXISTS PLAYLIST_SONGS (playlist_pk INTEGER NOT NULL, position INTEGER NOT NULL, "
+                            + "song_title TEXT NOT NULL, PRIMARY KEY (playlist_pk, song_title))",
+                    "CREATE INDEX IF NOT EXISTS PLAYLIST_SONGS_POSITION ON PLAYLIST_SONGS (playlist_pk, position)"),
+
+            new SchemaMigration(5, "Keep one review per user and song",
+                    "DELETE FROM SONG_REVIEWS WHERE pk NOT IN (SELECT MAX(pk) FROM SONG_REVIEWS GROUP BY user, song_title)",
+                    "CREATE UNIQUE INDEX IF NOT EXISTS SONG_REVIEWS_USER_SONG ON SONG_REVIEWS (user, song_title)"),
+
+            new SchemaMigration(6, "Create the song search index",
+                    "CREATE VIRTUAL TABLE IF NOT EXISTS SONGS_FTS USING fts5(title, author, content = 'SONGS', content_rowid = 'rowid')",
+                    "CREATE TRIGGER IF NOT EXISTS SONGS_FTS_INSERT AFTER INSERT ON SONGS BEGIN "
+                            + "INSERT INTO SONGS_FTS (rowid, title, author) VALUES (new.rowid, new.title, new.author); "
+                            + "END",
+                    "CREATE TRIGGER IF NOT EXISTS SONGS_FTS_DELETE AFTER DELETE ON SONGS BEGIN "
+                            + "INSERT INTO SONGS_FTS (SONGS_FTS, rowid, title, author) VALUES ('delete', old.rowid, old.title, old.author); "
+                            + "END",
+                    "CREATE TRIGGER IF NOT EXISTS SONGS_FTS_UPDATE AFTER UPDATE OF title, author ON SONGS BEGIN "
+                            + "INSERT INTO SONGS_FTS (SONGS_FTS, rowid, title, author) VALUES ('delete', old.rowid, old.title, old.author); "
+                            + "INSERT INTO SONGS_FTS (rowid, title, author) VALUES (new.rowid, new.title, new.author); "
+                            + "END",
+                    "INSERT INTO SONGS_FTS (SONGS_FTS) VALUES ('rebuild')"),
+
+            // An implicit rowid may change on VACUUM, which would leave SONGS_FTS pointing at the wrong songs. The title
+            // is what playlists, reviews, caches and the search triggers use to identify a song, so it is unique too
+            new SchemaMigration(7, "Give songs an INTEGER PRIMARY KEY and a unique title",
+                    "DROP TABLE IF EXISTS SONGS_FTS",
+                    "CREATE TABLE SONGS_NEW (id INTEGER PRIMARY KEY, title TEXT UNIQUE, author TEXT, photo BLOB, "
+                            + "publication TEXT, pathFile TEXT)",
+                    "INSERT INTO SONGS_NEW (id, title, author, photo, publication, pathFile) "
+                            + "SELECT rowid, title, author, photo, publication, pathFile FROM SONGS "
+                            + "WHERE rowid IN (SELECT MAX(rowid) FROM SONGS GROUP BY title)",
+                    "DROP TABLE SONGS",
+                    "ALTER TABLE SONGS_NEW RENAME TO SONGS",
+                    "CREATE INDEX SONGS_AUTHOR_TITLE ON SONGS (author, title)",
+                    "CREATE INDEX SONGS_PUBLICATION_TITLE ON SONGS (publication, title)",
+                    "CREATE VIRTUAL TABLE SONGS_FTS USING fts5(title, author, content = 'SONGS', content_rowid = 'id')",
+                    "CREATE TRIGGER SONGS_FTS_INSERT AFTER INSERT ON SONGS BEGIN "
+                            + "INSERT INTO SONGS_FTS (rowid, title, author) VALUES (new.id, new.title, new.author); "
+                            + "END",
+                    "CREATE TRIGGER SONGS_FTS_DELETE AFTER DELETE ON SONGS BEGIN "
+                            + "INSERT INTO SONGS_FTS (SONGS_FTS, rowid, title, author) VALUES ('delete', old.id, old.title, old.author); "
+                            + "END",
+                    "CREATE TRIGGER SONGS_FTS_UPDATE AFTER UPDATE OF title, author ON SONGS BEGIN "
+                            + "INSERT INTO SONGS_FTS (SONGS_FTS, rowid, title, author) VALUES ('delete', old.id, old.title, old.author); "
+                            + "INSERT INTO SONGS_FTS (rowid, title, author) VALUES (new.id, new.title, new.author); "
+                            + "END",
+                    "INSERT INTO SONGS_FTS (SONGS_FTS) VALUES ('rebuild')")
+    ));
+
+    private static final String SQL_QUERY_GET_SCHEMA_VERSION = "PRAGMA user_version";
+
+    private static final String SQL_SET_SCHEMA_VERSION = "PRAGMA user_version = %d";
+
+    private static final String SQL_ANALYZE = "ANALYZE";
+
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    public int getSchemaVersion() {
+
+        try(Statement statement = getDBConnection().createStatement()) {
+
+            ResultSet resultSet = SQLConnectionManager.get().retryOnBusy(statement.getConnection(), () -> statement.executeQuery(SQL_QUERY_GET_SCHEMA_VERSION));
+
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+
+        } catch(SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    public boolean migrate() {
+
+        final int schemaVersion = getSchemaVersion();
+
+        if(schemaVersion > getLatestVersion()) {
+            Logger.getGlobal().warning("Database schema version " + schemaVersion
+                    + " is newer than this application's " + getLatestVersion());
+            return true;
+        }
+
+        boolean migrated = true;
+        int appliedMigrations = 0;
+
+        for(SchemaMigration migration : MIGRATIONS) {
+
+            if(migration.version <= schemaVersion) {
+                continue;
+            }
+
+            if(!apply(migration)) {
+                migrated = false;
+                break;
+            }
+
+            appliedMigrations++;
+        }
+
+        if(appliedMigrations > 0) {
+            analyze();
+        }
+
+        return migrated;
+    }
+
+    private boolean apply(SchemaMigration migration) {
+
+        Logger.getGlobal().info("Applying database migration " + migration.version + ": " + migration.description);
+
+        try(Statement statement = getDBConnection().createStatement()) {
+
+            return SQLConnectionManager.get().inTransaction(() -> {
+
+                for(String sql : migration.statements) {
+                    SQLConnectionManager.get().retryOnBusy(statement.getConnection(), () -> statement.execute(sql));
+                }
+
+                statement.execute(String.format(SQL_SET_SCHEMA_VERSION, migration.version));
+
+                return true;
+            });
+
+        } catch(SQLException e) {
+            Logger.getGlobal().log(Level.SEVERE, "Database migration " + migration.version + " failed", e);
+        }
+
+        return false;
+    }
+
+    private void analyze() {
+
+        try(Statement statement = getDBConnection().createStatement()) {
+            SQLConnectionManager.get().retryOnBusy(statement.getConnection(), () -> statement.execute(SQL_ANALYZE));
+        } catch(SQLException e) {
+            Logger.getGlobal().log(Level.WARNING, "Cannot analyze the database", e);
+        }
+    }
+
+    private static final class SchemaMigration {
+
+        private final int version;
+        private final String description;
+        private final String[] statements;
+
+        private SchemaMigration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package iris.playharmony.controller.db;
+
+import iris.playharmony.model.Song;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Songs are mutable, so the catalog keeps its own copies and hands out copies too. A caller changing a song can never
+// change the catalog or its title index
+final class SongCatalog {
+
+    private final Map<String, Song> songsByTitle;
+    private final NavigableMap<String, Song> songsSortedByTitle;
+    private final List<Song> songs;
+
+    SongCatalog(Collection<Song> songs) {
+        this(index(songs));
+    }
+
+    private SongCatalog(LinkedHashMap<String, Song> songsByTitle) {
+        this.songsByTitle = Collections.unmodifiableMap(songsByTitle);
+        this.songsSortedByTitle = Collections.unmodifiableNavigableMap(new TreeMap<>(songsByTitle));
+        this.songs = Collections.unmodifiableList(new ArrayList<>(songsByTitle.values()));
+    }
+
+    List<Song> getSongs() {
+        return songs.stream().map(SongCatalog::copyOf).collect(Collectors.toList());
+    }
+
+    List<Song> getPage(String afterTitle, int limit) {
+
+        NavigableMap<String, Song> nextSongs = afterTitle == null ? songsSortedByTitle : songsSortedByTitle.tailMap(afterTitle, false);
+
+        return nextSongs.values().stream().limit(limit).map(SongCatalog::copyOf).collect(Collectors.toList());
+    }
+
+    Song get(String title) {
+        Song song = songsByTitle.get(title);
+        return song != null ? copyOf(song) : null;
+    }
+
+    boolean contains(String title) {
+        return songsByTitle.containsKey(title);
+    }
+
+    int size() {
+        return songs.size();
+    }
+
+    SongCatalog with(Song song) {
+        LinkedHashMap<String, Song> newSongs = new LinkedHashMap<>(songsByTitle);
+        newSongs.put(song.getTitle(), copyOf(song));
+        return new SongCatalog(newSongs);
+    }
+
+    SongCatalog without(String title) {
+
+        if(!songsByTitle.containsKey(title)) {
+            return this;
+        }
+
+        LinkedHashMap<String, Song> newSongs = new LinkedHashMap<>(songsByTitle);
+        newSongs.remove(title);
+        return new SongCatalog(newSongs);
+    }
+
+    private static LinkedHashMap<String, Song> index(Collection<Song> songs) {
+        LinkedHashMap<String, Song> songsByTitle = new LinkedHashMap<>();
+        songs.forEach(song -> songsByTitle.put(song.getTitle(), copyOf(song)));
+        return songsByTitle;
+    }
+
+    static Song copyOf(Song song) {
+        return new Song(song.getTitle(), song.getAuthor(), song.getPhoto(), song.getDate(), song.getPathFile());
+    }
+}
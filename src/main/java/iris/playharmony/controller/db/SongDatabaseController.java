@@ -1,22 +1,65 @@
 package iris.playharmony.controller.db;
 
 import iris.playharmony.controller.db.sql.*;
+import iris.playharmony.model.RatingSummary;
 import iris.playharmony.model.Song;
 import iris.playharmony.model.SongReview;
+import iris.playharmony.model.SongSort;
 import iris.playharmony.util.FileUtils;
+import iris.playharmony.util.ImageStore;
 
 import java.io.File;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
 
 public class SongDatabaseController extends AbstractDatabaseController implements ISongDatabaseController {
 
     private static final String SONGS_TABLE_NAME = "SONGS";
 
-    private static final String SQL_QUERY_GET_ALL_SONGS = "SELECT * FROM SONGS";
+    private static final String[] SONG_COLUMNS = {"title", "author", "publication", "pathFile"};
+
+    private static final SQLReadQuery<Song> SQL_QUERY_GET_ALL_SONGS = new SQLReadQuery<>("SONGS",
+            SONG_COLUMNS, SongDatabaseController::readSong);
+
+    private static final String SQL_QUERY_GET_SONGS_PAGE = "SONGS %s ORDER BY %s LIMIT ?";
+
+    private static final String SQL_QUERY_AFTER_TITLE = "WHERE title > ?";
+
+    // ?1 and ?2 are the sort value and title of the last song shown, NULLs sort first like in ORDER BY. The LIMIT ?
+    // that follows is parameter 3
+    private static final String SQL_QUERY_AFTER_SONG = "WHERE (%1$s IS NULL AND ?1 IS NULL AND title > ?2) "
+            + "OR (?1 IS NULL AND %1$s IS NOT NULL) OR %1$s > ?1 OR (%1$s = ?1 AND title > ?2)";
+
+    private static final Map<SongSort, SQLReadQuery<Song>> SQL_QUERY_GET_FIRST_SONGS_PAGE = createSongsPageQueries(false);
+
+    private static final Map<SongSort, SQLReadQuery<Song>> SQL_QUERY_GET_NEXT_SONGS_PAGE = createSongsPageQueries(true);
+
+    private static final SQLReadQuery<Song> SQL_QUERY_SEARCH_SONGS = new SQLReadQuery<>(
+            "SONGS_FTS JOIN SONGS s ON s.id = SONGS_FTS.rowid WHERE SONGS_FTS MATCH ? ORDER BY rank LIMIT ?",
+            Arrays.stream(SONG_COLUMNS).map(column -> "s." + column).toArray(String[]::new),
+            SongDatabaseController::readSong);
+
+    private static final SQLReadQuery<Song> SQL_QUERY_GET_SONG_BY_TITLE = new SQLReadQuery<>("SONGS WHERE title = ?",
+            SONG_COLUMNS, SongDatabaseController::readSong);
+
+    private static final SQLReadQuery<Boolean> SQL_QUERY_SONG_EXISTS = new SQLReadQuery<>("SONGS WHERE title = ?",
+            new String[] {"1 AS found"}, row -> true);
+
+    private static final SQLReadQuery<File> SQL_QUERY_GET_SONG_PHOTO = new SQLReadQuery<>("SONGS WHERE title = ?",
+            new String[] {"title", "photo"}, SongDatabaseController::readPhoto);
+
+    private static final String PHOTO_OWNER_PREFIX = "song:";
 
     private static final String SONG_REVIEWS_TABLE_NAME = "SONG_REVIEWS";
 
@@ -38,37 +81,117 @@ public class SongDatabaseController extends AbstractDatabaseController implement
 
     private static final SQLWriteQuery SQL_QUERY_INSERT_SONG_RATING = new SQLInsertQuery(SONG_REVIEWS_TABLE_NAME, "user", "song_title", "rating");
 
-    private static final String SQL_QUERY_GET_ALL_REVIEWS = "SELECT * FROM " + SONG_REVIEWS_TABLE_NAME;
+    private static final SQLWriteQuery SQL_QUERY_UPSERT_SONG_REVIEW = new SQLUpsertQuery(SONG_REVIEWS_TABLE_NAME,
+            new String[] {"user", "song_title"},
+            "user", "song_title", "rating");
+
+    private static final SQLReadQuery<SongReview> SQL_QUERY_GET_ALL_REVIEWS = new SQLReadQuery<>(SONG_REVIEWS_TABLE_NAME,
+            new String[] {"pk", "user", "song_title", "rating"}, SongDatabaseController::readSongReview);
 
-    public SongDatabaseController() {
+    private static final SQLReadQuery<Map.Entry<String, RatingSummary>> SQL_QUERY_GET_RATING_SUMMARIES = new SQLReadQuery<>(
+            SONG_REVIEWS_TABLE_NAME + " GROUP BY song_title",
+            new String[] {"song_title", "AVG(rating) AS average", "COUNT(*) AS count"},
+            row -> new AbstractMap.SimpleImmutableEntry<>(row.getString("song_title"), readRatingSummary(row)));
+
+    private static final SQLReadQuery<RatingSummary> SQL_QUERY_GET_RATING_SUMMARY = new SQLReadQuery<>(
+            SONG_REVIEWS_TABLE_NAME + " WHERE song_title = ?",
+            new String[] {"AVG(rating) AS average", "COUNT(*) AS count"},
+            SongDatabaseController::readRatingSummary);
+
+    private final PlaylistDatabaseController playlistDatabaseController;
+    private final Map<String, File> songPhotos;
+
+    public SongDatabaseController(PlaylistDatabaseController playlistDatabaseController) {
+        this.playlistDatabaseController = requireNonNull(playlistDatabaseController);
+        songPhotos = new ConcurrentHashMap<>();
     }
 
     @Override
     public List<Song> getSongs() {
 
-        List<Song> songList = new ArrayList<>();
+        try {
+            return SQL_QUERY_GET_ALL_SONGS.list(getDBConnection());
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
 
-        try(Statement statement = getDBConnection().createStatement()) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<Song> getSongsPage(Song after, int limit, SongSort sort) {
 
-            ResultSet resultSet = statement.executeQuery(SQL_QUERY_GET_ALL_SONGS);
+        try {
 
-            readSongsDatabase(resultSet, songList);
+            if(after == null) {
+                return SQL_QUERY_GET_FIRST_SONGS_PAGE.get(sort).list(getDBConnection(), limit);
+            }
+
+            if(sort == SongSort.TITLE) {
+                return SQL_QUERY_GET_NEXT_SONGS_PAGE.get(sort).list(getDBConnection(), after.getTitle(), limit);
+            }
+
+            return SQL_QUERY_GET_NEXT_SONGS_PAGE.get(sort).list(getDBConnection(), sort.getValue(after), after.getTitle(), limit);
 
         } catch(Exception e) {
             e.printStackTrace();
         }
 
-        return songList;
+        return new ArrayList<>();
     }
 
     @Override
-    public List<SongReview> getSongReviews() {
+    public List<Song> searchSongs(String query, int limit) {
+
+        final String matchQuery = toMatchQuery(query);
+
+        if(matchQuery.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        try {
+            return SQL_QUERY_SEARCH_SONGS.list(getDBConnection(), matchQuery, limit);
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return new ArrayList<>();
+    }
 
-        try(Statement statement = getDBConnection().createStatement()) {
-            ResultSet resultSet = statement.executeQuery(SQL_QUERY_GET_ALL_REVIEWS);
+    @Override
+    public Optional<Song> getSongByTitle(String title) {
+
+        try {
+            return SQL_QUERY_GET_SONG_BY_TITLE.first(getDBConnection(), title);
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public File openSongPhoto(String title) {
 
-            return readSongReviewsDatabase(resultSet);
+        File photo = songPhotos.get(title);
+
+        if(photo == null || !photo.exists()) {
+
+            photo = readSongPhoto(title);
+
+            if(photo != null) {
+                songPhotos.put(title, photo);
+            }
+        }
+
+        return photo;
+    }
+
+    @Override
+    public List<SongReview> getSongReviews() {
 
+        try {
+            return SQL_QUERY_GET_ALL_REVIEWS.list(getDBConnection());
         } catch(Exception e) {
             e.printStackTrace();
         }
@@ -76,6 +199,32 @@ public class SongDatabaseController extends AbstractDatabaseController implement
         return null;
     }
 
+    @Override
+    public Map<String, RatingSummary> getRatingSummaries() {
+
+        Map<String, RatingSummary> ratingSummaries = new HashMap<>();
+
+        try(Stream<Map.Entry<String, RatingSummary>> rows = SQL_QUERY_GET_RATING_SUMMARIES.stream(getDBConnection())) {
+            rows.forEach(row -> ratingSummaries.put(row.getKey(), row.getValue()));
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return ratingSummaries;
+    }
+
+    @Override
+    public RatingSummary getRatingSummary(String songTitle) {
+
+        try {
+            return SQL_QUERY_GET_RATING_SUMMARY.first(getDBConnection(), songTitle).orElse(RatingSummary.EMPTY);
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return RatingSummary.EMPTY;
+    }
+
     @Override
     public boolean addSongReview(SongReview songReview) {
 
@@ -113,37 +262,92 @@ public class SongDatabaseController extends AbstractDatabaseController implement
         return false;
     }
 
-    private void readSongsDatabase(ResultSet resultSet, List<Song> songList) throws SQLException {
+    @Override
+    public boolean upsertSongReview(SongReview songReview) {
 
-        while(resultSet.next()) {
+        try(SQLStatement statement = SQL_QUERY_UPSERT_SONG_REVIEW.prepareStatement(getDBConnection())) {
 
-            File photo = FileUtils.writeToTemporalFile(resultSet.getBinaryStream("photo"));
+            statement.set("user", songReview.getUser())
+                    .set("song_title", songReview.getSongTitle())
+                    .set("rating", String.valueOf(songReview.getRating()));
 
-            Song song = new Song()
-                    .setTitle(resultSet.getString("TITLE"))
-                    .setAuthor(resultSet.getString("AUTHOR"))
-                    .setPhoto(photo.getAbsolutePath())
-                    .setDate(resultSet.getString("PUBLICATION"))
-                    .setPathFile(resultSet.getString("PATHFILE"));
+            return statement.execute() != SQLStatement.ERROR_CODE;
 
-            songList.add(song);
+        } catch(Exception e) {
+            e.printStackTrace();
         }
+
+        return false;
     }
 
-    private List<SongReview> readSongReviewsDatabase(ResultSet resultSet) throws SQLException {
+    private static Map<SongSort, SQLReadQuery<Song>> createSongsPageQueries(boolean afterSong) {
+
+        Map<SongSort, SQLReadQuery<Song>> queries = new EnumMap<>(SongSort.class);
+
+        for(SongSort sort : SongSort.values()) {
+
+            final String orderBy = sort == SongSort.TITLE ? "title" : sort.getColumn() + ", title";
+
+            String where = "";
+
+            if(afterSong) {
+                where = sort == SongSort.TITLE ? SQL_QUERY_AFTER_TITLE : String.format(SQL_QUERY_AFTER_SONG, sort.getColumn());
+            }
+
+            queries.put(sort, new SQLReadQuery<>(String.format(SQL_QUERY_GET_SONGS_PAGE, where, orderBy),
+                    SONG_COLUMNS, SongDatabaseController::readSong));
+        }
+
+        return queries;
+    }
 
-        List<SongReview> songReviews = new ArrayList<>();
+    private static String toMatchQuery(String query) {
 
-        while(resultSet.next()) {
+        StringBuilder matchQuery = new StringBuilder();
 
-            songReviews.add(new SongReview()
-                    .setId(resultSet.getInt("PK"))
-                    .setSongTitle(resultSet.getString("SONG_TITLE"))
-                    .setUser(resultSet.getString("USER"))
-                    .setRating(resultSet.getDouble("RATING")));
+        for(String term : query.trim().split("\\s+")) {
+            if(!term.isEmpty()) {
+                matchQuery.append('"').append(term.replace("\"", "\"\"")).append("\"* ");
+            }
         }
 
-        return songReviews;
+        return matchQuery.toString().trim();
+    }
+
+    private static Song readSong(SQLRow row) throws SQLException {
+        return new Song()
+                .setTitle(row.getString("title"))
+                .setAuthor(row.getString("author"))
+                .setDate(row.getString("publication"))
+                .setPathFile(row.getString("pathFile"));
+    }
+
+    private File readSongPhoto(String title) {
+
+        try {
+            return SQL_QUERY_GET_SONG_PHOTO.first(getDBConnection(), title).orElse(null);
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    private static File readPhoto(SQLRow row) throws SQLException {
+
+        return ImageStore.get().store(PHOTO_OWNER_PREFIX + row.getString("title"), row.getBytes("photo"));
+    }
+
+    private static RatingSummary readRatingSummary(SQLRow row) throws SQLException {
+        return new RatingSummary(row.getDouble("average"), row.getInt("count"));
+    }
+
+    private static SongReview readSongReview(SQLRow row) throws SQLException {
+        return new SongReview()
+                .setId(row.getInt("pk"))
+                .setSongTitle(row.getString("song_title"))
+                .setUser(row.getString("user"))
+                .setRating(row.getDouble("rating"));
     }
 
     @Override
@@ -176,6 +380,28 @@ public class SongDatabaseController extends AbstractDatabaseController implement
             return false;
         }
 
+        // Playlists still queued with the old title are written before they are renamed
+        playlistDatabaseController.flushPlaylists();
+
+        try {
+
+            final boolean updated = SQLConnectionManager.get().inTransaction(() ->
+                    updateSongRow(song, key) && playlistDatabaseController.renameSong(key, song.getTitle()));
+
+            releasePhoto(key);
+            releasePhoto(song.getTitle());
+
+            return updated;
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    private boolean updateSongRow(Song song, String key) {
+
         try(SQLStatement statement = SQL_QUERY_UPDATE_SONG.prepareStatement(getDBConnection())) {
 
             File songPhoto = new File(song.getPhoto());
@@ -197,16 +423,48 @@ public class SongDatabaseController extends AbstractDatabaseController implement
         return false;
     }
 
+    private void releasePhoto(String title) {
+        songPhotos.remove(title);
+        ImageStore.get().release(PHOTO_OWNER_PREFIX + title);
+    }
+
     private boolean songExists(Song song) {
-        return getSongs().contains(song);
+
+        try {
+            return SQL_QUERY_SONG_EXISTS.exists(getDBConnection(), song.getTitle());
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
     }
 
     @Override
     public boolean deleteSong(Song song) {
 
+        playlistDatabaseController.flushPlaylists();
+
+        try {
+
+            final boolean deleted = SQLConnectionManager.get().inTransaction(() ->
+                    deleteSongRow(song.getTitle()) && playlistDatabaseController.deleteSong(song.getTitle()));
+
+            releasePhoto(song.getTitle());
+
+            return deleted;
+
+        } catch(Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    private boolean deleteSongRow(String title) {
+
         try(SQLStatement statement = SQL_QUERY_DELETE_SONG_BY_TITLE.prepareStatement(getDBConnection())) {
 
-            statement.setKey("title", song.getTitle());
+            statement.setKey("title", title);
 
             return statement.execute() != SQLStatement.ERROR_CODE;
 
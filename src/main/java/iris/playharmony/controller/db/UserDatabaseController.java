@@ -1,24 +1,19 @@
 package iris.playharmony.controller.db;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import iris.playharmony.controller.db.sql.*;
 import iris.playharmony.controller.handler.PathHandler;
 import iris.playharmony.model.Email;
-import iris.playharmony.model.Playlist;
 import iris.playharmony.model.Role;
 import iris.playharmony.model.User;
 import iris.playharmony.util.FileUtils;
-import iris.playharmony.util.Json;
+import iris.playharmony.util.ImageStore;
 import iris.playharmony.util.Resources;
 
 import java.io.File;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
@@ -26,65 +21,85 @@ public class UserDatabaseController extends AbstractDatabaseController implement
 
     private static final String USERS_TABLE_NAME = "USERS";
 
-    private static final String SQL_SELECT_ALL_USERS = "SELECT * FROM USERS";
+    private static final String[] USER_COLUMNS = {"photo", "name", "surname", "category", "user_role", "email", "password"};
+
+    private static final SQLReadQuery<User> SQL_SELECT_ALL_USERS = new SQLReadQuery<>(USERS_TABLE_NAME,
+            USER_COLUMNS, UserDatabaseController::readUser);
+
+    private static final SQLReadQuery<User> SQL_SELECT_USER_BY_EMAIL = new SQLReadQuery<>(USERS_TABLE_NAME + " WHERE email = ?",
+            USER_COLUMNS, UserDatabaseController::readUser);
+
+    private static final String PHOTO_OWNER_PREFIX = "user:";
+
+    private static final SQLReadQuery<Boolean> SQL_QUERY_USER_EXISTS = new SQLReadQuery<>(USERS_TABLE_NAME + " WHERE email = ?",
+            new String[] {"1 AS found"}, row -> true);
 
     private static final SQLWriteQuery SQL_QUERY_INSERT_NEW_USER = new SQLInsertQuery(USERS_TABLE_NAME,
             "photo", "name", "surname", "category", "user_role", "email", "password");
 
     private static final SQLWriteQuery SQL_QUERY_UPDATE_USER = new SQLUpdateQuery(USERS_TABLE_NAME,
             "email",
-            "photo", "name", "surname", "category", "user_role", "email", "password", "favourites");
+            "photo", "name", "surname", "category", "user_role", "email", "password");
 
     private static final SQLWriteQuery SQL_QUERY_REMOVE_USER_BY_EMAIL = new SQLDeleteByKeyQuery(USERS_TABLE_NAME, "email");
 
 
 
-    public UserDatabaseController() {
+    private final PlaylistDatabaseController playlistDatabaseController;
+
+    public UserDatabaseController(PlaylistDatabaseController playlistDatabaseController) {
+        this.playlistDatabaseController = requireNonNull(playlistDatabaseController);
     }
 
     @Override
     public List<User> getUsers() {
 
-        List<User> userList = new ArrayList<>();
+        try {
 
-        try(Statement statement = getDBConnection().createStatement()) {
+            List<User> userList = SQL_SELECT_ALL_USERS.list(getDBConnection());
 
-            ResultSet resultSet = statement.executeQuery(SQL_SELECT_ALL_USERS);
+            playlistDatabaseController.loadPlaylists(userList);
 
-            readUsersFromDatabase(resultSet, userList);
+            return userList;
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return userList;
+        return new ArrayList<>();
     }
 
-    private void readUsersFromDatabase(ResultSet resultSet, List<User> userList) throws SQLException {
+    @Override
+    public Optional<User> getUserByEmail(String email) {
+
+        try {
+
+            Optional<User> user = SQL_SELECT_USER_BY_EMAIL.first(getDBConnection(), email);
 
-        while(resultSet.next()) {
+            user.ifPresent(playlistDatabaseController::loadPlaylists);
 
-            File photo = FileUtils.writeToTemporalFile(resultSet.getBinaryStream("photo"));
+            return user;
 
-            List<Playlist> playList = new Gson().fromJson(resultSet.getString("PLAYLIST"), new TypeToken<List<Playlist>>(){}.getType());
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
 
-            Playlist favourites = new Gson().fromJson(resultSet.getString("FAVOURITES"), Playlist.class);
+        return Optional.empty();
+    }
 
-            playList = playList == null ? new ArrayList<>() : playList;
+    private static User readUser(SQLRow row) throws SQLException {
 
-            User user = new User()
-                    .name(resultSet.getString("NAME"))
-                    .surname(resultSet.getString("SURNAME"))
-                    .category("CATEGORY")
-                    .role(Role.getRoleFrom(resultSet.getString("USER_ROLE")))
-                    .mail(new Email(resultSet.getString("EMAIL")))
-                    .photo(photo)
-                    .favourites(favourites)
-                    .setPlayLists(playList)
-                    .setPassword(resultSet.getString("PASSWORD"));
+        File photo = ImageStore.get().store(PHOTO_OWNER_PREFIX + row.getString("email"), row.getBytes("photo"));
 
-            userList.add(user);
-        }
+        return new User()
+                .name(row.getString("name"))
+                .surname(row.getString("surname"))
+                .category(row.getString("category"))
+                .role(Role.getRoleFrom(row.getString("user_role")))
+                .mail(new Email(row.getString("email")))
+                .photo(photo)
+                .setPlayLists(new ArrayList<>())
+                .setPassword(row.getString("password"));
     }
 
     @Override
@@ -125,7 +140,7 @@ public class UserDatabaseController extends AbstractDatabaseController implement
     }
 
     public boolean userExists(User user) {
-        return getUsers().contains(user);
+        return userExists(user.getEmail().toString());
     }
 
     @Override
@@ -137,27 +152,36 @@ public class UserDatabaseController extends AbstractDatabaseController implement
             throw new IllegalArgumentException("User does not exists");
         }
 
-        try(SQLStatement statement = SQL_QUERY_UPDATE_USER.prepareStatement(getDBConnection())) {
+        return updateUserAndPlaylists(user, key);
+    }
 
-            File photo = user.getPhoto();
+    @Override
+    public boolean updateMyAccount(User user, String key) {
 
-            if(photo != null) {
-                FileUtils.readFileBinary(photo, inputStream -> statement.set("photo", inputStream, (int)photo.length()));
-            } else {
-                File defaultPhoto = new File(requireNonNull(Resources.get(PathHandler.DEFAULT_PHOTO_PATH)));
-                FileUtils.readFileBinary(defaultPhoto, inputStream -> statement.set("photo", inputStream, inputStream.available()));
-            }
+        return updateUserAndPlaylists(user, key);
+    }
 
-            statement.setKey("email", key)
-                    .set("name", user.getName())
-                    .set("surname", user.getSurname())
-                    .set("email", user.getEmail().toString())
-                    .set("category", user.getCategory())
-                    .set("favourites", Json.toJson(user.favourites()))
-                    .set("user_role", user.getRole().toString())
-                    .set("password", user.getPassword());
+    @Override
+    public boolean removeUser(String userEmail) {
 
-            return statement.execute() != SQLStatement.ERROR_CODE;
+        if(userEmail == null || userEmail.isEmpty()) {
+            throw new IllegalArgumentException();
+        }
+
+        if(!userExists(userEmail)) {
+            throw new IllegalArgumentException("User " + userEmail + " does not exists");
+        }
+
+        try(SQLStatement statement = SQL_QUERY_REMOVE_USER_BY_EMAIL.prepareStatement(getDBConnection())) {
+
+            statement.setKey("email", userEmail);
+
+            final boolean removed = statement.execute() != SQLStatement.ERROR_CODE
+                    && playlistDatabaseController.deleteUserPlaylists(userEmail);
+
+            releasePhoto(userEmail);
+
+            return removed;
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -166,8 +190,28 @@ public class UserDatabaseController extends AbstractDatabaseController implement
         return false;
     }
 
-    @Override
-    public boolean updateMyAccount(User user, String key) {
+    private boolean updateUserAndPlaylists(User user, String key) {
+
+        // Playlists still queued under the old email are written before they move to the new one
+        playlistDatabaseController.flushPlaylists(key);
+
+        try {
+
+            final boolean updated = SQLConnectionManager.get().inTransaction(() ->
+                    updateUserRow(user, key) && playlistDatabaseController.changeUserEmail(key, user.getEmail().toString()));
+
+            releasePhoto(key);
+
+            return updated;
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    private boolean updateUserRow(User user, String key) {
 
         try(SQLStatement statement = SQL_QUERY_UPDATE_USER.prepareStatement(getDBConnection())) {
 
@@ -185,7 +229,6 @@ public class UserDatabaseController extends AbstractDatabaseController implement
                     .set("surname", user.getSurname())
                     .set("email", user.getEmail().toString())
                     .set("category", user.getCategory())
-                    .set("favourites", Json.toJson(user.favourites()))
                     .set("user_role", user.getRole().toString())
                     .set("password", user.getPassword());
 
@@ -198,32 +241,19 @@ public class UserDatabaseController extends AbstractDatabaseController implement
         return false;
     }
 
-    @Override
-    public boolean removeUser(String userEmail) {
-
-        if(userEmail == null || userEmail.isEmpty()) {
-            throw new IllegalArgumentException();
-        }
-
-        if(!userExists(userEmail)) {
-            throw new IllegalArgumentException("User " + userEmail + " does not exists");
-        }
-
-        try(SQLStatement statement = SQL_QUERY_REMOVE_USER_BY_EMAIL.prepareStatement(getDBConnection())) {
-
-            statement.setKey("email", userEmail);
+    private void releasePhoto(String userEmail) {
+        ImageStore.get().release(PHOTO_OWNER_PREFIX + userEmail);
+    }
 
-            return statement.execute() != SQLStatement.ERROR_CODE;
+    private boolean userExists(String userEmail) {
 
-        } catch (Exception e) {
+        try {
+            return SQL_QUERY_USER_EXISTS.exists(getDBConnection(), userEmail);
+        } catch (SQLException e) {
             e.printStackTrace();
         }
 
         return false;
     }
 
-    private boolean userExists(String userEmail) {
-        return getUsers().stream().anyMatch(user -> Objects.equals(user.getEmail().toString(), userEmail));
-    }
-
 }
\ No newline at end of file
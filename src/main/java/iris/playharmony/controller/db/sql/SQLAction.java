@@ -0,0 +1,9 @@
+package iris.playharmony.controller.db.sql;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface SQLAction<T> {
+
+    T execute() throws SQLException;
+}
@@ -0,0 +1,301 @@
+package iris.playharmony.controller.db.sql;
+
+import iris.playharmony.controller.handler.PathHandler;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class SQLConnectionManager {
+
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    // Short, so the application backoff below decides how long a busy write waits in total
+    private static final int BUSY_TIMEOUT_MILLIS = 250;
+    private static final int MAX_BUSY_RETRIES = 5;
+    private static final long INITIAL_BACKOFF_MILLIS = 10;
+
+    private static final String[] CONNECTION_PRAGMAS = {
+            "PRAGMA journal_mode = WAL",
+            "PRAGMA synchronous = NORMAL",
+            "PRAGMA cache_size = -16384",
+            "PRAGMA mmap_size = 268435456",
+            "PRAGMA temp_store = MEMORY",
+            "PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS
+    };
+
+    private static volatile SQLConnectionManager instance;
+
+    public static SQLConnectionManager get() {
+        if(instance == null) {
+            synchronized (SQLConnectionManager.class) {
+                if(instance == null) {
+                    instance = new SQLConnectionManager("jdbc:sqlite:" + PathHandler.DATABASE_PATH);
+                }
+            }
+        }
+        return instance;
+    }
+
+    private final String url;
+    private final ThreadLocal<Connection> threadConnection;
+    private final Set<Connection> openConnections;
+    private final Map<Connection, SQLStatementCache> statementCaches;
+    private final ThreadLocal<Boolean> transactionBusy;
+
+    // Statistics
+    private final AtomicLong connectionsOpened;
+    private final AtomicLong connectionsClosed;
+    private final AtomicLong busyRetries;
+    private final AtomicLong busyFailures;
+
+    private SQLConnectionManager(String url) {
+        this.url = url;
+        threadConnection = new ThreadLocal<>();
+        openConnections = ConcurrentHashMap.newKeySet();
+        statementCaches = new ConcurrentHashMap<>();
+        transactionBusy = ThreadLocal.withInitial(() -> false);
+        connectionsOpened = new AtomicLong();
+        connectionsClosed = new AtomicLong();
+        busyRetries = new AtomicLong();
+        busyFailures = new AtomicLong();
+        loadDriver();
+    }
+
+    public Connection getConnection() {
+
+        Connection connection = threadConnection.get();
+
+        try {
+
+            if(connection == null || connection.isClosed()) {
+                if(connection != null) {
+                    openConnections.remove(connection);
+                    closeStatementCache(connection);
+                }
+                connection = openConnection();
+                threadConnection.set(connection);
+            }
+
+        } catch (SQLException e) {
+            Logger.getGlobal().log(Level.SEVERE, "Cannot open connection to " + url, e);
+        }
+
+        return connection;
+    }
+
+    public SQLStatementCache getStatementCache(Connection connection) {
+        return statementCaches.get(connection);
+    }
+
+    public SQLTransaction beginTransaction() throws SQLException {
+        return new SQLTransaction(getConnection());
+    }
+
+    public boolean inTransaction(SQLAction<Boolean> action) throws SQLException {
+
+        Connection connection = getConnection();
+
+        // A nested transaction is a savepoint, only the outermost one can be restarted
+        if(!connection.getAutoCommit()) {
+            try(SQLTransaction transaction = new SQLTransaction(connection)) {
+                return commitIf(transaction, action.execute());
+            }
+        }
+
+        long backoff = INITIAL_BACKOFF_MILLIS;
+
+        for(int attempt = 0;;attempt++) {
+
+            transactionBusy.set(false);
+
+            try(SQLTransaction transaction = new SQLTransaction(connection)) {
+
+                if(commitIf(transaction, action.execute()) || !transactionBusy.get()) {
+                    return transaction.isCommitted();
+                }
+
+            } catch (SQLException e) {
+                if(!transactionBusy.get()) {
+                    throw e;
+                }
+                if(attempt == MAX_BUSY_RETRIES) {
+                    busyFailures.incrementAndGet();
+                    throw e;
+                }
+            }
+
+            if(attempt == MAX_BUSY_RETRIES) {
+                busyFailures.incrementAndGet();
+                return false;
+            }
+
+            busyRetries.incrementAndGet();
+            sleep(backoff + ThreadLocalRandom.current().nextLong(backoff));
+            backoff *= 2;
+        }
+    }
+
+    public <T> T retryOnBusy(Connection connection, SQLAction<T> action) throws SQLException {
+
+        // Inside a transaction SQLite has already waited for busy_timeout, and a stale WAL snapshot can never succeed
+        // by running the statement again, so the failure is left to inTransaction, which restarts the whole transaction
+        if(!connection.getAutoCommit()) {
+            try {
+                return action.execute();
+            } catch (SQLException e) {
+                if(isBusy(e)) {
+                    transactionBusy.set(true);
+                }
+                throw e;
+            }
+        }
+
+        long backoff = INITIAL_BACKOFF_MILLIS;
+
+        for(int attempt = 0;;attempt++) {
+
+            try {
+                return action.execute();
+
+            } catch (SQLException e) {
+
+                if(!isBusy(e)) {
+                    throw e;
+                }
+
+                if(attempt == MAX_BUSY_RETRIES) {
+                    busyFailures.incrementAndGet();
+                    throw e;
+                }
+
+                busyRetries.incrementAndGet();
+                sleep(backoff + ThreadLocalRandom.current().nextLong(backoff));
+                backoff *= 2;
+            }
+        }
+    }
+
+    public void closeThreadConnection() {
+
+        Connection connection = threadConnection.get();
+
+        threadConnection.remove();
+
+        if(connection != null) {
+            close(connection);
+        }
+    }
+
+    public void closeAll() {
+        openConnections.forEach(this::close);
+    }
+
+    public int getOpenConnections() {
+        return openConnections.size();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public long getConnectionsClosed() {
+        return connectionsClosed.get();
+    }
+
+    public long getBusyRetries() {
+        return busyRetries.get();
+    }
+
+    public long getBusyFailures() {
+        return busyFailures.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SQLConnectionManager{" +
+                "url='" + url + '\'' +
+                ", openConnections=" + getOpenConnections() +
+                ", connectionsOpened=" + getConnectionsOpened() +
+                ", connectionsClosed=" + getConnectionsClosed() +
+                ", busyRetries=" + getBusyRetries() +
+                ", busyFailures=" + getBusyFailures() +
+                '}';
+    }
+
+    private Connection openConnection() throws SQLException {
+
+        Connection connection = DriverManager.getConnection(url);
+
+        try(Statement statement = connection.createStatement()) {
+            for(String pragma : CONNECTION_PRAGMAS) {
+                statement.execute(pragma);
+            }
+        }
+
+        openConnections.add(connection);
+        statementCaches.put(connection, new SQLStatementCache(connection));
+        connectionsOpened.incrementAndGet();
+
+        return connection;
+    }
+
+    private void close(Connection connection) {
+        try {
+            if(openConnections.remove(connection)) {
+                closeStatementCache(connection);
+                connection.close();
+                connectionsClosed.incrementAndGet();
+            }
+        } catch (SQLException e) {
+            Logger.getGlobal().log(Level.WARNING, "Error while closing connection", e);
+        }
+    }
+
+    private void closeStatementCache(Connection connection) {
+
+        SQLStatementCache statementCache = statementCaches.remove(connection);
+
+        if(statementCache != null) {
+            statementCache.close();
+        }
+    }
+
+    private static boolean commitIf(SQLTransaction transaction, boolean commit) throws SQLException {
+        if(commit) {
+            transaction.commit();
+        }
+        return commit;
+    }
+
+    private static boolean isBusy(SQLException e) {
+        final int primaryCode = e.getErrorCode() & 0xFF;
+        return primaryCode == SQLITE_BUSY || primaryCode == SQLITE_LOCKED;
+    }
+
+    private static void sleep(long millis) throws SQLException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a locked database", e);
+        }
+    }
+
+    private static void loadDriver() {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            Logger.getGlobal().log(Level.SEVERE, "SQLite JDBC driver not found", e);
+        }
+    }
+}
@@ -3,7 +3,7 @@ package iris.playharmony.controller.db.sql;
 public class SQLDeleteByKeyQuery extends SQLWriteQuery {
 
     public SQLDeleteByKeyQuery(String tableName, String key) {
-        super(String.format("DELETE FROM %s WHERE %s = ?", tableName, key), key + "_KEY");
+        super(String.format("DELETE FROM %s WHERE %s = ?", tableName, key), getKeyName(key));
     }
 
 
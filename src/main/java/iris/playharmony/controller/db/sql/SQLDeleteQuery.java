@@ -0,0 +1,20 @@
+package iris.playharmony.controller.db.sql;
+
+import java.util.Arrays;
+
+public class SQLDeleteQuery extends SQLWriteQuery {
+
+    public SQLDeleteQuery(String tableName, String... keys) {
+        super(String.format("DELETE FROM %s WHERE %s", tableName, buildQueryKeys(keys)),
+                Arrays.stream(keys).map(SQLWriteQuery::getKeyName).toArray(String[]::new));
+    }
+
+    private static String buildQueryKeys(String[] keys) {
+
+        if(keys.length == 0) {
+            throw new IllegalArgumentException();
+        }
+
+        return String.join(" = ? AND ", keys) + " = ?";
+    }
+}
@@ -5,8 +5,12 @@ import java.util.Arrays;
 public class SQLInsertQuery extends SQLWriteQuery {
 
     public SQLInsertQuery(String tableName, String... params) {
-        super(String.format("INSERT INTO %s (%s) VALUES (%s)",
-                tableName, asSQLParams(params), getSQLInputValues(params.length)), params);
+        super(insertInto(tableName, params), params);
+    }
+
+    static String insertInto(String tableName, String[] params) {
+        return String.format("INSERT INTO %s (%s) VALUES (%s)",
+                tableName, asSQLParams(params), getSQLInputValues(params.length));
     }
 
     private static Object asSQLParams(String[] params) {
@@ -0,0 +1,93 @@
+package iris.playharmony.controller.db.sql;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+public class SQLMetrics implements SQLMetricsMXBean {
+
+    public static final String READ = "READ";
+    public static final String WRITE = "WRITE";
+    public static final String BATCH = "BATCH";
+
+    private static final String OBJECT_NAME = "iris.playharmony:type=SQLMetrics";
+
+    private static volatile SQLMetrics instance;
+
+    public static SQLMetrics get() {
+        if(instance == null) {
+            synchronized (SQLMetrics.class) {
+                if(instance == null) {
+                    instance = new SQLMetrics();
+                    instance.registerMBean();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private final Map<String, SQLQueryStats> queryStats;
+
+    private SQLMetrics() {
+        queryStats = new ConcurrentHashMap<>();
+    }
+
+    public SQLQueryStats register(String type, String sqlQuery) {
+        return queryStats.computeIfAbsent(type + ' ' + sqlQuery, key -> new SQLQueryStats(type, sqlQuery));
+    }
+
+    public List<SQLQuerySnapshot> snapshot() {
+        return queryStats.values().stream()
+                .map(SQLQueryStats::snapshot)
+                .filter(snapshot -> snapshot.getCount() > 0)
+                .sorted(Comparator.comparingDouble(SQLQuerySnapshot::getTotalMillis).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<SQLQuerySnapshot> getQueries() {
+        return snapshot();
+    }
+
+    @Override
+    public long getExecutions() {
+        return snapshot().stream().mapToLong(SQLQuerySnapshot::getCount).sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return snapshot().stream().mapToLong(SQLQuerySnapshot::getErrors).sum();
+    }
+
+    @Override
+    public double getTotalMillis() {
+        return snapshot().stream().mapToDouble(SQLQuerySnapshot::getTotalMillis).sum();
+    }
+
+    @Override
+    public void reset() {
+        queryStats.values().forEach(SQLQueryStats::reset);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().stream()
+                .map(SQLQuerySnapshot::toString)
+                .collect(Collectors.joining("\n", "SQLMetrics{\n", "\n}"));
+    }
+
+    private void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            Logger.getGlobal().log(Level.WARNING, "Cannot register " + OBJECT_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package iris.playharmony.controller.db.sql;
+
+import java.util.List;
+
+public interface SQLMetricsMXBean {
+
+    List<SQLQuerySnapshot> getQueries();
+
+    long getExecutions();
+
+    long getErrors();
+
+    double getTotalMillis();
+
+    void reset();
+}
@@ -0,0 +1,100 @@
+package iris.playharmony.controller.db.sql;
+
+import java.util.Arrays;
+
+public class SQLQuerySnapshot {
+
+    private final String type;
+    private final String sqlQuery;
+    private final long count;
+    private final long errors;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    SQLQuerySnapshot(String type, String sqlQuery, long count, long errors, long totalNanos, long maxNanos, long[] histogram) {
+        this.type = type;
+        this.sqlQuery = sqlQuery;
+        this.count = count;
+        this.errors = errors;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.histogram = histogram;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getSQLQuery() {
+        return sqlQuery;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / 1e6;
+    }
+
+    public double getMeanMillis() {
+        return count == 0 ? 0 : totalNanos / 1e6 / count;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos / 1e6;
+    }
+
+    public double getP50Millis() {
+        return getPercentileMillis(0.50);
+    }
+
+    public double getP95Millis() {
+        return getPercentileMillis(0.95);
+    }
+
+    public double getP99Millis() {
+        return getPercentileMillis(0.99);
+    }
+
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    // Upper bound of the histogram bucket holding the percentile, capped by the slowest execution
+    public double getPercentileMillis(double percentile) {
+
+        final long total = Arrays.stream(histogram).sum();
+
+        if(total == 0) {
+            return 0;
+        }
+
+        final long rank = (long) Math.ceil(percentile * total);
+
+        long seen = 0;
+
+        for(int bucket = 0;bucket < histogram.length;bucket++) {
+
+            seen += histogram[bucket];
+
+            if(seen >= rank) {
+                return Math.min((1L << bucket) / 1e3, getMaxMillis());
+            }
+        }
+
+        return getMaxMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d errors=%d total=%.1fms mean=%.3fms p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms %s",
+                type, count, errors, getTotalMillis(), getMeanMillis(), getP50Millis(), getP95Millis(), getP99Millis(),
+                getMaxMillis(), sqlQuery);
+    }
+}
@@ -0,0 +1,91 @@
+package iris.playharmony.controller.db.sql;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class SQLQueryStats {
+
+    // Bucket 0 holds sub-microsecond executions, bucket i holds [2^(i-1), 2^i) microseconds
+    static final int HISTOGRAM_BUCKETS = 32;
+
+    private static final Logger LOGGER = Logger.getLogger(SQLQueryStats.class.getPackage().getName());
+
+    private static final long LOG_SAMPLE_RATE = Math.max(1, Long.getLong("playharmony.sql.logSampleRate", 100));
+
+    private final String type;
+    private final String sqlQuery;
+    private final LongAdder count;
+    private final LongAdder errors;
+    private final LongAdder totalNanos;
+    private final AtomicLong maxNanos;
+    private final AtomicLongArray histogram;
+
+    SQLQueryStats(String type, String sqlQuery) {
+        this.type = type;
+        this.sqlQuery = sqlQuery;
+        count = new LongAdder();
+        errors = new LongAdder();
+        totalNanos = new LongAdder();
+        maxNanos = new AtomicLong();
+        histogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+    }
+
+    public void record(long nanos, boolean failed) {
+
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        histogram.incrementAndGet(getBucket(nanos));
+
+        if(failed) {
+            errors.increment();
+        }
+
+        log(nanos, failed);
+    }
+
+    public SQLQuerySnapshot snapshot() {
+
+        long[] buckets = new long[HISTOGRAM_BUCKETS];
+
+        for(int i = 0;i < HISTOGRAM_BUCKETS;i++) {
+            buckets[i] = histogram.get(i);
+        }
+
+        return new SQLQuerySnapshot(type, sqlQuery, count.sum(), errors.sum(), totalNanos.sum(), maxNanos.get(), buckets);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getSQLQuery() {
+        return sqlQuery;
+    }
+
+    void reset() {
+        count.reset();
+        errors.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        for(int i = 0;i < HISTOGRAM_BUCKETS;i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    private void log(long nanos, boolean failed) {
+
+        if(LOGGER.isLoggable(Level.FINEST) || (LOGGER.isLoggable(Level.FINE) && count.sum() % LOG_SAMPLE_RATE == 0)) {
+            LOGGER.fine(String.format("%s %s in %.3f ms%s", type, sqlQuery, nanos / 1e6, failed ? " (failed)" : ""));
+        }
+    }
+
+    private static int getBucket(long nanos) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        return Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+}
@@ -0,0 +1,244 @@
+package iris.playharmony.controller.db.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class SQLReadQuery<T> {
+
+    private static final Pattern COLUMN_ALIAS = Pattern.compile("(?i).*\\s+AS\\s+(\\w+)$");
+
+    private final String[] columns;
+    private final Map<String, Integer> columnIndices;
+    private final RowMapper<T> rowMapper;
+    private final String sqlQuery;
+    private final SQLQueryStats stats;
+
+    public SQLReadQuery(String from, String[] columns, RowMapper<T> rowMapper) {
+
+        if(columns.length == 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.sqlQuery = String.format("SELECT %s FROM %s", String.join(", ", columns), from);
+        this.columns = columns.clone();
+        this.columnIndices = new HashMap<>();
+        this.rowMapper = rowMapper;
+        this.stats = SQLMetrics.get().register(SQLMetrics.READ, sqlQuery);
+        createColumns();
+    }
+
+    public List<T> list(Connection connection, Object... params) throws SQLException {
+        return measure(() -> {
+
+            List<T> rows = new ArrayList<>();
+
+            try(PreparedStatement statement = prepareStatement(connection, params)) {
+
+                ResultSet resultSet = executeQuery(statement);
+
+                SQLRow row = new SQLRow(this, resultSet);
+
+                while(resultSet.next()) {
+                    rows.add(rowMapper.map(row));
+                }
+            }
+
+            return rows;
+        });
+    }
+
+    public Optional<T> first(Connection connection, Object... params) throws SQLException {
+        return measure(() -> {
+
+            try(PreparedStatement statement = prepareStatement(connection, params)) {
+
+                ResultSet resultSet = executeQuery(statement);
+
+                return resultSet.next() ? Optional.ofNullable(rowMapper.map(new SQLRow(this, resultSet))) : Optional.empty();
+            }
+        });
+    }
+
+    public boolean exists(Connection connection, Object... params) throws SQLException {
+        return measure(() -> {
+
+            try(PreparedStatement statement = prepareStatement(connection, params)) {
+                return executeQuery(statement).next();
+            }
+        });
+    }
+
+    // The stream holds an open statement until it is closed, so use it in a try-with-resources block
+    public Stream<T> stream(Connection connection, Object... params) throws SQLException {
+
+        final long startedAt = System.nanoTime();
+
+        PreparedStatement statement = null;
+
+        try {
+
+            statement = prepareStatement(connection, params);
+
+            ResultSet resultSet = executeQuery(statement);
+
+            PreparedStatement openStatement = statement;
+
+            return StreamSupport.stream(new RowSpliterator(resultSet), false).onClose(() -> {
+                close(openStatement);
+                stats.record(System.nanoTime() - startedAt, false);
+            });
+
+        } catch (SQLException e) {
+            if(statement != null) {
+                statement.close();
+            }
+            stats.record(System.nanoTime() - startedAt, true);
+            throw e;
+        }
+    }
+
+    public String getSQLQuery() {
+        return sqlQuery;
+    }
+
+    public SQLQueryStats getStats() {
+        return stats;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public String getColumn(int index) {
+        return columns[index - 1];
+    }
+
+    public int getColumnIndex(String name) {
+
+        Integer index = columnIndices.get(name);
+
+        if(index == null) {
+            index = columnIndices.get(name.toUpperCase());
+        }
+
+        if(index == null) {
+            throw new NoSuchElementException("There is no column called " + name.toUpperCase() + " on query " + sqlQuery);
+        }
+
+        return index;
+    }
+
+    private <R> R measure(SQLAction<R> action) throws SQLException {
+
+        final long startedAt = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            R result = action.execute();
+            failed = false;
+            return result;
+        } finally {
+            stats.record(System.nanoTime() - startedAt, failed);
+        }
+    }
+
+    private PreparedStatement prepareStatement(Connection connection, Object[] params) throws SQLException {
+
+        PreparedStatement statement = connection.prepareStatement(sqlQuery);
+
+        try {
+            for(int i = 0;i < params.length;i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+
+        return statement;
+    }
+
+    private ResultSet executeQuery(PreparedStatement statement) throws SQLException {
+        return SQLConnectionManager.get().retryOnBusy(statement.getConnection(), statement::executeQuery);
+    }
+
+    private void createColumns() {
+
+        for(int i = 0;i < columns.length;i++) {
+
+            final String label = getColumnLabel(columns[i]);
+            final int index = i + 1;
+
+            if(columnIndices.put(label.toUpperCase(), index) != null) {
+                throw new IllegalArgumentException("Duplicate column " + label.toUpperCase() + " on query " + sqlQuery);
+            }
+
+            columnIndices.put(label, index);
+        }
+    }
+
+    private static String getColumnLabel(String column) {
+
+        Matcher alias = COLUMN_ALIAS.matcher(column.trim());
+
+        if(alias.matches()) {
+            return alias.group(1);
+        }
+
+        return column.substring(column.lastIndexOf('.') + 1).trim();
+    }
+
+    private static void close(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            Logger.getGlobal().log(Level.WARNING, "Error while closing statement", e);
+        }
+    }
+
+    private class RowSpliterator extends Spliterators.AbstractSpliterator<T> {
+
+        private final ResultSet resultSet;
+        private final SQLRow row;
+
+        RowSpliterator(ResultSet resultSet) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.resultSet = resultSet;
+            this.row = new SQLRow(SQLReadQuery.this, resultSet);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+
+                if(!resultSet.next()) {
+                    return false;
+                }
+
+                action.accept(rowMapper.map(row));
+
+                return true;
+
+            } catch (SQLException e) {
+                throw new RuntimeException("Error while reading a row of query " + sqlQuery, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package iris.playharmony.controller.db.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class SQLRow {
+
+    private final SQLReadQuery<?> query;
+    private final ResultSet resultSet;
+
+    SQLRow(SQLReadQuery<?> query, ResultSet resultSet) {
+        this.query = query;
+        this.resultSet = resultSet;
+    }
+
+    public String getString(String column) throws SQLException {
+        return resultSet.getString(query.getColumnIndex(column));
+    }
+
+    public int getInt(String column) throws SQLException {
+        return resultSet.getInt(query.getColumnIndex(column));
+    }
+
+    public long getLong(String column) throws SQLException {
+        return resultSet.getLong(query.getColumnIndex(column));
+    }
+
+    public double getDouble(String column) throws SQLException {
+        return resultSet.getDouble(query.getColumnIndex(column));
+    }
+
+    public boolean getBoolean(String column) throws SQLException {
+        return resultSet.getBoolean(query.getColumnIndex(column));
+    }
+
+    public byte[] getBytes(String column) throws SQLException {
+        return resultSet.getBytes(query.getColumnIndex(column));
+    }
+}
@@ -3,9 +3,7 @@ package iris.playharmony.controller.db.sql;
 import java.io.InputStream;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.BitSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,50 +11,96 @@ public class SQLStatement implements AutoCloseable {
 
     public static final int ERROR_CODE = -1;
 
+    private static final int MAX_BATCH_SIZE = 1000;
 
     private final SQLWriteQuery query;
     private final PreparedStatement preparedStatement;
-    private final Map<String, Boolean> paramsSetTracker;
+    private final SQLStatementCache statementCache;
+    private final SQLAction<Integer> executeUpdate;
+    private final BitSet paramsSet;
+    private boolean inUse;
+    private int batchSize;
+    private int batchUpdateCount;
+    private boolean batchFailed;
 
     public SQLStatement(SQLWriteQuery query, PreparedStatement preparedStatement) {
+        this(query, preparedStatement, null);
+    }
+
+    SQLStatement(SQLWriteQuery query, PreparedStatement preparedStatement, SQLStatementCache statementCache) {
         this.query = query;
         this.preparedStatement = preparedStatement;
-        paramsSetTracker = createParamsSetTracker();
+        this.statementCache = statementCache;
+        executeUpdate = preparedStatement::executeUpdate;
+        paramsSet = new BitSet(query.getParamCount());
     }
 
     public int execute() {
+
+        final long startedAt = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            checkThatAllParametersHaveBeenSet();
+            final int updateCount = SQLConnectionManager.get().retryOnBusy(preparedStatement.getConnection(), executeUpdate);
+            failed = false;
+            return updateCount;
+        } catch (Throwable e) {
+            e.printStackTrace();
+        } finally {
+            query.getStats().record(System.nanoTime() - startedAt, failed);
+        }
+        return ERROR_CODE;
+    }
+
+    public SQLStatement addBatch() {
         try {
             checkThatAllParametersHaveBeenSet();
-            System.out.println("Executing SQL statement " + query.getSQLQuery() + " with parameters:\n" + paramsSetTracker);
-            return preparedStatement.executeUpdate();
+            preparedStatement.addBatch();
+            paramsSet.clear();
+            if(++batchSize == MAX_BATCH_SIZE) {
+                flushBatch();
+            }
         } catch (Throwable e) {
+            batchFailed = true;
             e.printStackTrace();
         }
+        return this;
+    }
+
+    public int executeBatch() {
+        try {
+            if(batchFailed) {
+                preparedStatement.clearBatch();
+            } else {
+                flushBatch();
+                return batchUpdateCount;
+            }
+        } catch (Throwable e) {
+            e.printStackTrace();
+        } finally {
+            resetBatch();
+        }
         return ERROR_CODE;
     }
 
     public SQLStatement setKey(String name, String value) {
-        final String keyName = (name + "_KEY").toUpperCase();
-        setStatementParameter(keyName, value);
-        paramsSetTracker.put(keyName, true);
+        setStatementParameter(query.getKeyIndex(name), value);
         return this;
     }
 
     public SQLStatement set(String name, String value) {
-        setStatementParameter(name, value);
-        paramsSetTracker.put(name.toUpperCase(), true);
+        setStatementParameter(query.getParamIndex(name), value);
         return this;
     }
 
     public SQLStatement set(String name, InputStream inputStream) {
-        setStatementParameter(name, inputStream);
-        paramsSetTracker.put(name.toUpperCase(), true);
+        setStatementParameter(query.getParamIndex(name), inputStream);
         return this;
     }
 
     public SQLStatement set(String name, InputStream inputStream, int bytes) {
-        setStatementParameter(name, inputStream, bytes);
-        paramsSetTracker.put(name.toUpperCase(), true);
+        setStatementParameter(query.getParamIndex(name), inputStream, bytes);
         return this;
     }
 
@@ -70,48 +114,97 @@ public class SQLStatement implements AutoCloseable {
 
     @Override
     public void close() throws Exception {
-        preparedStatement.close();
+
+        if(statementCache == null) {
+            preparedStatement.close();
+            return;
+        }
+
+        try {
+            if(batchSize > 0) {
+                preparedStatement.clearBatch();
+            }
+            preparedStatement.clearParameters();
+        } finally {
+            paramsSet.clear();
+            resetBatch();
+            setInUse(false);
+        }
     }
 
-    private boolean notAllParamsAreSet() {
-        return paramsSetTracker.values().stream().anyMatch(isSet -> !isSet);
+    boolean isInUse() {
+        return inUse;
     }
 
-    private Map<String, Boolean> createParamsSetTracker() {
-        Map<String, Boolean> tracker = new LinkedHashMap<>();
-        query.getParams().forEach((param, index) -> tracker.put(param, false));
-        return tracker;
+    void setInUse(boolean inUse) {
+        this.inUse = inUse;
     }
 
-    private void checkThatAllParametersHaveBeenSet() {
-        for(Map.Entry<String, Boolean> param : paramsSetTracker.entrySet()) {
-            if(!param.getValue()) {
-                throw new RuntimeException("Param " + param.getKey() + " has not been set on query " + getQuery().getSQLQuery());
+    private void flushBatch() throws SQLException {
+
+        if(batchSize == 0) {
+            return;
+        }
+
+        batchSize = 0;
+
+        final long startedAt = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            // Not retried on SQLITE_BUSY outside a transaction: the driver clears the batch when it fails
+            final int[] updateCounts = preparedStatement.getConnection().getAutoCommit()
+                    ? preparedStatement.executeBatch()
+                    : SQLConnectionManager.get().retryOnBusy(preparedStatement.getConnection(), preparedStatement::executeBatch);
+
+            for(int updateCount : updateCounts) {
+                batchUpdateCount += Math.max(updateCount, 0);
             }
+            failed = false;
+        } finally {
+            query.getBatchStats().record(System.nanoTime() - startedAt, failed);
+        }
+    }
+
+    private void resetBatch() {
+        batchSize = 0;
+        batchUpdateCount = 0;
+        batchFailed = false;
+    }
+
+    private void checkThatAllParametersHaveBeenSet() {
+
+        final int missingParam = paramsSet.nextClearBit(0);
+
+        if(missingParam < query.getParamCount()) {
+            throw new RuntimeException("Param " + query.getParamName(missingParam + 1) + " has not been set on query " + getQuery().getSQLQuery());
         }
     }
 
-    private void setStatementParameter(String name, String value) {
+    private void setStatementParameter(int index, String value) {
         try {
-            preparedStatement.setString(query.getParamIndex(name), value);
+            preparedStatement.setString(index, value);
+            paramsSet.set(index - 1);
         } catch (SQLException e) {
-            Logger.getGlobal().log(Level.SEVERE, "Error while setting parameter " + name, e);
+            Logger.getGlobal().log(Level.SEVERE, "Error while setting parameter " + query.getParamName(index), e);
         }
     }
 
-    private void setStatementParameter(String name, InputStream inputStream) {
+    private void setStatementParameter(int index, InputStream inputStream) {
         try {
-            preparedStatement.setBinaryStream(query.getParamIndex(name), inputStream);
+            preparedStatement.setBinaryStream(index, inputStream);
+            paramsSet.set(index - 1);
         } catch(SQLException e) {
-            Logger.getGlobal().log(Level.SEVERE, "Error while setting parameter " + name, e);
+            Logger.getGlobal().log(Level.SEVERE, "Error while setting parameter " + query.getParamName(index), e);
         }
     }
 
-    private void setStatementParameter(String name, InputStream inputStream, int bytes) {
+    private void setStatementParameter(int index, InputStream inputStream, int bytes) {
         try {
-            preparedStatement.setBinaryStream(query.getParamIndex(name), inputStream, bytes);
+            preparedStatement.setBinaryStream(index, inputStream, bytes);
+            paramsSet.set(index - 1);
         } catch(SQLException e) {
-            Logger.getGlobal().log(Level.SEVERE, "Error while setting parameter " + name, e);
+            Logger.getGlobal().log(Level.SEVERE, "Error while setting parameter " + query.getParamName(index), e);
         }
     }
 }
@@ -0,0 +1,93 @@
+package iris.playharmony.controller.db.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class SQLStatementCache {
+
+    private static final int MAX_CACHED_STATEMENTS = 64;
+
+    private final Connection connection;
+    private final LinkedHashMap<SQLWriteQuery, SQLStatement> statements;
+
+    // Statistics
+    private long hits;
+    private long misses;
+
+    SQLStatementCache(Connection connection) {
+        this.connection = connection;
+        statements = new LinkedHashMap<SQLWriteQuery, SQLStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SQLWriteQuery, SQLStatement> eldest) {
+                return size() > MAX_CACHED_STATEMENTS && evict(eldest.getValue());
+            }
+        };
+    }
+
+    public synchronized SQLStatement acquire(SQLWriteQuery query) throws SQLException {
+
+        SQLStatement statement = statements.get(query);
+
+        if(statement == null) {
+            misses++;
+            statement = new SQLStatement(query, connection.prepareStatement(query.getSQLQuery()), this);
+            statements.put(query, statement);
+        } else if(statement.isInUse()) {
+            // The same query is already open further up the stack, so hand out a private one
+            misses++;
+            return new SQLStatement(query, connection.prepareStatement(query.getSQLQuery()));
+        } else {
+            hits++;
+        }
+
+        statement.setInUse(true);
+
+        return statement;
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized void close() {
+
+        List<SQLStatement> cachedStatements = new ArrayList<>(statements.values());
+
+        statements.clear();
+
+        cachedStatements.forEach(this::closeStatement);
+    }
+
+    private boolean evict(SQLStatement statement) {
+
+        if(statement.isInUse()) {
+            return false;
+        }
+
+        closeStatement(statement);
+
+        return true;
+    }
+
+    private void closeStatement(SQLStatement statement) {
+        try {
+            statement.getPreparedStatement().close();
+        } catch (SQLException e) {
+            Logger.getGlobal().log(Level.WARNING, "Error while closing statement " + statement.getQuery().getSQLQuery(), e);
+        }
+    }
+}
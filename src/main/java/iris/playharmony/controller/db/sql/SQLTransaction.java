@@ -0,0 +1,81 @@
+package iris.playharmony.controller.db.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+public class SQLTransaction implements AutoCloseable {
+
+    private final Connection connection;
+    private final Savepoint savepoint;
+    private boolean completed;
+    private boolean committed;
+
+    SQLTransaction(Connection connection) throws SQLException {
+        this.connection = connection;
+
+        if(connection.getAutoCommit()) {
+            connection.setAutoCommit(false);
+            savepoint = null;
+        } else {
+            savepoint = connection.setSavepoint();
+        }
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public boolean isNested() {
+        return savepoint != null;
+    }
+
+    public void commit() throws SQLException {
+
+        checkNotCompleted();
+
+        if(isNested()) {
+            connection.releaseSavepoint(savepoint);
+        } else {
+            SQLConnectionManager.get().retryOnBusy(connection, () -> {
+                connection.commit();
+                return null;
+            });
+            connection.setAutoCommit(true);
+        }
+
+        completed = true;
+        committed = true;
+    }
+
+    public void rollback() throws SQLException {
+
+        checkNotCompleted();
+
+        completed = true;
+
+        if(isNested()) {
+            connection.rollback(savepoint);
+            connection.releaseSavepoint(savepoint);
+        } else {
+            try {
+                connection.rollback();
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if(!completed) {
+            rollback();
+        }
+    }
+
+    private void checkNotCompleted() {
+        if(completed) {
+            throw new IllegalStateException("Transaction has already been completed");
+        }
+    }
+}
@@ -4,21 +4,36 @@ import java.util.Arrays;
 
 public class SQLUpdateQuery extends SQLWriteQuery {
 
+    // What SQLite does with a row whose update would break a UNIQUE constraint
+    public enum OnConflict {
+        ABORT,
+        FAIL,
+        IGNORE,
+        REPLACE,
+        ROLLBACK
+    }
+
     public SQLUpdateQuery(String tableName, String key, String... params) {
-        super(String.format("UPDATE %s SET %s WHERE %s = ?", tableName, buildQueryParams(params), key),
+        this(OnConflict.ABORT, tableName, key, params);
+    }
+
+    public SQLUpdateQuery(OnConflict onConflict, String tableName, String key, String... params) {
+        super(String.format("UPDATE %s%s SET %s WHERE %s = ?", getConflictClause(onConflict), tableName,
+                buildQueryParams(params), key),
                 append(getKeyName(key), params));
     }
 
+    // ABORT is what a plain UPDATE does
+    private static String getConflictClause(OnConflict onConflict) {
+        return onConflict == OnConflict.ABORT ? "" : "OR " + onConflict.name() + " ";
+    }
+
     private static String[] append(String key, String[] params) {
         String[] newParams = Arrays.copyOf(params, params.length + 1);
         newParams[params.length] = key;
         return newParams;
     }
 
-    private static String getKeyName(String key) {
-        return key + "_KEY";
-    }
-
     private static String buildQueryParams(String[] params) {
 
         StringBuilder builder = new StringBuilder();
@@ -0,0 +1,29 @@
+package iris.playharmony.controller.db.sql;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SQLUpsertQuery extends SQLWriteQuery {
+
+    public SQLUpsertQuery(String tableName, String[] conflictKeys, String... params) {
+        super(SQLInsertQuery.insertInto(tableName, params) + onConflictUpdate(conflictKeys, params), params);
+    }
+
+    private static String onConflictUpdate(String[] conflictKeys, String[] params) {
+
+        if(conflictKeys.length == 0) {
+            throw new IllegalArgumentException();
+        }
+
+        List<String> keys = Arrays.asList(conflictKeys);
+
+        String updates = Arrays.stream(params)
+                .filter(param -> !keys.contains(param))
+                .map(param -> param + " = excluded." + param)
+                .collect(Collectors.joining(", "));
+
+        return String.format(" ON CONFLICT (%s) %s", String.join(", ", conflictKeys),
+                updates.isEmpty() ? "DO NOTHING" : "DO UPDATE SET " + updates);
+    }
+}
@@ -1,28 +1,42 @@
 package iris.playharmony.controller.db.sql;
 
-import iris.playharmony.util.Pair;
-
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.stream.IntStream;
-
-import static java.util.stream.Collectors.toMap;
 
 public abstract class SQLWriteQuery {
 
+    private static final String KEY_SUFFIX = "_KEY";
+
+    private final String[] paramNames;
     private final Map<String, Integer> params;
+    private final Map<String, Integer> paramIndices;
+    private final Map<String, Integer> keyIndices;
     private final String sqlQuery;
+    private final SQLQueryStats stats;
+    private final SQLQueryStats batchStats;
 
     public SQLWriteQuery(String sqlQuery, String... params) {
         this.sqlQuery = sqlQuery;
-        this.params = createParams(params);
+        this.stats = SQLMetrics.get().register(SQLMetrics.WRITE, sqlQuery);
+        this.batchStats = SQLMetrics.get().register(SQLMetrics.BATCH, sqlQuery);
+        this.paramNames = new String[params.length];
+        this.params = new LinkedHashMap<>();
+        this.paramIndices = new HashMap<>();
+        this.keyIndices = new HashMap<>();
+        createParams(params);
     }
 
     public SQLStatement prepareStatement(Connection dbConnection) {
         try {
+            SQLStatementCache statementCache = SQLConnectionManager.get().getStatementCache(dbConnection);
+            if(statementCache != null) {
+                return statementCache.acquire(this);
+            }
             return new SQLStatement(this, dbConnection.prepareStatement(getSQLQuery()));
         } catch (SQLException e) {
             e.printStackTrace();
@@ -34,25 +48,71 @@ public abstract class SQLWriteQuery {
         return sqlQuery;
     }
 
+    public SQLQueryStats getStats() {
+        return stats;
+    }
+
+    public SQLQueryStats getBatchStats() {
+        return batchStats;
+    }
+
     public Map<String, Integer> getParams() {
         return Collections.unmodifiableMap(params);
     }
 
+    public int getParamCount() {
+        return paramNames.length;
+    }
+
+    public String getParamName(int index) {
+        return paramNames[index - 1];
+    }
+
     public int getParamIndex(String name) {
 
-        final String normalizedName = name.toUpperCase();
+        Integer index = paramIndices.get(name);
+
+        if(index == null) {
+            index = params.get(name.toUpperCase());
+        }
 
-        if(!params.containsKey(normalizedName)) {
-            throw new NoSuchElementException("There is no param called " + normalizedName
+        if(index == null) {
+            throw new NoSuchElementException("There is no param called " + name.toUpperCase()
                     + ". This could be a spelling error, or maybe you wanted to set a key?");
         }
 
-        return params.get(normalizedName);
+        return index;
     }
 
-    private Map<String, Integer> createParams(String[] params) {
-        return IntStream.range(0, params.length)
-                .mapToObj(index -> new Pair<>(params[index].toUpperCase(), index + 1))
-                .collect(toMap(Pair::getKey, Pair::getValue));
+    public int getKeyIndex(String name) {
+
+        Integer index = keyIndices.get(name);
+
+        return index != null ? index : getParamIndex(name + KEY_SUFFIX);
+    }
+
+    protected static String getKeyName(String key) {
+        return key + KEY_SUFFIX;
+    }
+
+    private void createParams(String[] params) {
+
+        for(int i = 0;i < params.length;i++) {
+
+            final String name = params[i];
+            final String normalizedName = name.toUpperCase();
+            final int index = i + 1;
+
+            if(this.params.put(normalizedName, index) != null) {
+                throw new IllegalArgumentException("Duplicate param " + normalizedName + " on query " + sqlQuery);
+            }
+
+            paramNames[i] = normalizedName;
+            paramIndices.put(name, index);
+
+            if(normalizedName.endsWith(KEY_SUFFIX)) {
+                keyIndices.put(name.substring(0, name.length() - KEY_SUFFIX.length()), index);
+            }
+        }
     }
 }
@@ -3,4 +3,5 @@ package iris.playharmony.controller.handler;
 public class PathHandler {
     public static final String DATABASE_PATH = "playharmony.db";
     public static final String DEFAULT_PHOTO_PATH = "UserLogo.png";
+    public static final String IMAGE_STORE_PATH = "images";
 }
@@ -1,5 +1,6 @@
 package iris.playharmony.model;
 
+import iris.playharmony.controller.db.DatabaseController;
 import iris.playharmony.session.Session;
 import iris.playharmony.util.SongReviewUtils;
 import javafx.beans.property.SimpleStringProperty;
@@ -14,7 +15,11 @@ import java.net.URL;
 
 public class ObservableSong {
 
-    private ImageView photo;
+    private static final int PHOTO_SIZE = 100;
+
+    private String photoPath;
+    private volatile Image photo;
+    private volatile boolean photoLoaded;
     private SimpleStringProperty title = new SimpleStringProperty();
     private SimpleStringProperty author = new SimpleStringProperty();
     private SimpleStringProperty date = new SimpleStringProperty();
@@ -23,7 +28,7 @@ public class ObservableSong {
     private Rating rating = null;
 
     public ObservableSong photo(String photo) {
-        this.photo = new ImageView(new Image(new File(photo).toURI().toString(), 100, 100, false, false));
+        this.photoPath = photo;
         return this;
     }
 
@@ -47,10 +52,6 @@ public class ObservableSong {
         return this;
     }
 
-    public ImageView photo() {
-        return photo;
-    }
-
     public SimpleStringProperty title() {
         return title;
     }
@@ -93,7 +94,26 @@ public class ObservableSong {
     }
 
 
-    public ImageView getPhoto() {
+    public Image getPhoto() {
+        return photo;
+    }
+
+    public boolean isPhotoLoaded() {
+        return photoLoaded;
+    }
+
+    // Reads the stored photo, only called for rows that are on screen and never on the FX thread
+    public Image loadPhoto() {
+
+        if(!photoLoaded) {
+
+            File storedPhoto = DatabaseController.get().openSongPhoto(getTitle());
+            String path = storedPhoto != null ? storedPhoto.getAbsolutePath() : photoPath;
+
+            photo = path != null ? new Image(new File(path).toURI().toString(), PHOTO_SIZE, PHOTO_SIZE, false, false) : null;
+            photoLoaded = true;
+        }
+
         return photo;
     }
 
@@ -146,6 +166,10 @@ public class ObservableSong {
         }
     }
 
+    public Song toSong() {
+        return new Song(getTitle(), getAuthor(), null, getDate(), getPath());
+    }
+
     public ObservableSong rating(Rating rating) {
         this.rating = rating;
         return this;
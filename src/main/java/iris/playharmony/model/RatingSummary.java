@@ -0,0 +1,34 @@
+package iris.playharmony.model;
+
+public class RatingSummary {
+
+    public static final RatingSummary EMPTY = new RatingSummary(0, 0);
+
+    private final double average;
+    private final int count;
+
+    public RatingSummary(double average, int count) {
+        this.average = average;
+        this.count = count;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public RatingSummary with(double rating) {
+        return new RatingSummary((average * count + rating) / (count + 1), count + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "RatingSummary{" +
+                "average=" + average +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,30 @@
+package iris.playharmony.model;
+
+import java.util.function.Function;
+
+public enum SongSort {
+
+    TITLE("title", Song::getTitle),
+    AUTHOR("author", Song::getAuthor),
+    PUBLICATION("publication", Song::getDate);
+
+    private final String column;
+    private final Function<Song, String> value;
+
+    SongSort(String column, Function<Song, String> value) {
+        this.column = column;
+        this.value = value;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getValue(Song song) {
+        return value.apply(song);
+    }
+
+    public static SongSort getDefault() {
+        return SongSort.values()[0];
+    }
+}
@@ -127,6 +127,10 @@ public class User {
         playLists.add(playlist);
     }
 
+    public void removePlayList(Playlist playlist) {
+        playLists.removeIf(pl -> pl.getName().equals(playlist.getName()));
+    }
+
     public User setPlayLists(List<Playlist> playLists) {
         this.playLists = playLists;
         return this;
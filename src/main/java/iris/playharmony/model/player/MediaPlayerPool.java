@@ -0,0 +1,209 @@
+package iris.playharmony.model.player;
+
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.Objects.requireNonNull;
+
+// Players are created, played and disposed on the FX thread only, so the pool is not synchronized
+public class MediaPlayerPool {
+
+    private static final int MAX_PLAYERS = Integer.getInteger("playharmony.player.poolSize", 4);
+
+    private static final long MAX_MEDIA_BYTES = Long.getLong("playharmony.player.poolMaxBytes", 256L * 1024 * 1024);
+
+    public static String normalize(String source) {
+
+        try {
+
+            URI uri = new URI(source);
+
+            if("file".equalsIgnoreCase(uri.getScheme())) {
+                return Paths.get(uri).toAbsolutePath().normalize().toUri().toString();
+            }
+
+            return uri.normalize().toString();
+
+        } catch (Exception e) {
+            return source;
+        }
+    }
+
+    private final int maxPlayers;
+    private final long maxBytes;
+    private final Function<Media, MediaPlayer> playerFactory;
+    private final Consumer<MediaPlayer> playerReleaser;
+    private final LinkedHashMap<String, Entry> players;
+    private long pooledBytes;
+
+    // Statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    MediaPlayerPool(Function<Media, MediaPlayer> playerFactory, Consumer<MediaPlayer> playerReleaser) {
+        this(MAX_PLAYERS, MAX_MEDIA_BYTES, playerFactory, playerReleaser);
+    }
+
+    MediaPlayerPool(int maxPlayers, long maxBytes, Function<Media, MediaPlayer> playerFactory, Consumer<MediaPlayer> playerReleaser) {
+        this.maxPlayers = Math.max(1, maxPlayers);
+        this.maxBytes = maxBytes;
+        this.playerFactory = requireNonNull(playerFactory);
+        this.playerReleaser = requireNonNull(playerReleaser);
+        players = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public MediaPlayer get(String source) {
+
+        final String key = normalize(source);
+
+        Entry entry = players.get(key);
+
+        if(entry != null && entry.player.getStatus() != MediaPlayer.Status.HALTED) {
+            hits++;
+            return entry.player;
+        }
+
+        misses++;
+
+        if(entry != null) {
+            remove(key);
+        }
+
+        entry = new Entry(playerFactory.apply(new Media(key)), getMediaSize(key));
+
+        players.put(key, entry);
+        pooledBytes += entry.size;
+
+        evictIfNeeded();
+
+        return entry.player;
+    }
+
+    public boolean contains(String source) {
+        return players.containsKey(normalize(source));
+    }
+
+    public void remove(String source) {
+
+        Entry entry = players.remove(normalize(source));
+
+        if(entry != null) {
+            pooledBytes -= entry.size;
+            dispose(entry.player);
+        }
+    }
+
+    public void clear() {
+        players.values().forEach(entry -> dispose(entry.player));
+        players.clear();
+        pooledBytes = 0;
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    public long getPooledBytes() {
+        return pooledBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return "MediaPlayerPool{" +
+                "players=" + players.size() +
+                ", maxPlayers=" + maxPlayers +
+                ", pooledBytes=" + pooledBytes +
+                ", maxBytes=" + maxBytes +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    private void evictIfNeeded() {
+
+        Iterator<Entry> iterator = players.values().iterator();
+
+        // The most recently used player is the one just handed out, so it is always kept
+        while((players.size() > maxPlayers || pooledBytes > maxBytes) && players.size() > 1 && iterator.hasNext()) {
+
+            Entry entry = iterator.next();
+
+            // A prepared next song is handed out after the one playing, which must survive until the handover
+            if(isInUse(entry.player) || !iterator.hasNext()) {
+                continue;
+            }
+
+            iterator.remove();
+            pooledBytes -= entry.size;
+            evictions++;
+            dispose(entry.player);
+        }
+    }
+
+    private static boolean isInUse(MediaPlayer player) {
+        return player.getStatus() == MediaPlayer.Status.PLAYING || player.getStatus() == MediaPlayer.Status.PAUSED;
+    }
+
+    private void dispose(MediaPlayer player) {
+        try {
+            playerReleaser.accept(player);
+            player.dispose();
+        } catch (Exception e) {
+            Logger.getGlobal().log(Level.WARNING, "Cannot dispose media player", e);
+        }
+    }
+
+    private static long getMediaSize(String source) {
+
+        try {
+
+            URI uri = new URI(source);
+
+            if("file".equalsIgnoreCase(uri.getScheme())) {
+                File file = Paths.get(uri).toFile();
+                return file.length();
+            }
+
+        } catch (Exception e) {
+            Logger.getGlobal().log(Level.FINE, "Cannot get the size of " + source, e);
+        }
+
+        return 0;
+    }
+
+    private static final class Entry {
+
+        private final MediaPlayer player;
+        private final long size;
+
+        private Entry(MediaPlayer player, long size) {
+            this.player = player;
+            this.size = size;
+        }
+    }
+}
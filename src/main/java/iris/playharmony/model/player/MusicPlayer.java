@@ -7,6 +7,7 @@ import javafx.scene.media.MediaPlayer;
 import javafx.scene.media.MediaPlayer.Status;
 import javafx.util.Duration;
 
+import static javafx.scene.media.MediaPlayer.Status.PAUSED;
 import static javafx.scene.media.MediaPlayer.Status.PLAYING;
 
 public class MusicPlayer {
@@ -18,7 +19,7 @@ public class MusicPlayer {
     private final ObjectProperty<AudioSpectrumListener> spectrumListenerProperty;
 
     // MediaPlayer
-    private final MediaPlayerCache playerCache;
+    private final MediaPlayerPool playerPool;
     private final ObjectProperty<MediaPlayer> currentPlayerProperty;
     private final ObjectProperty<Duration> currentTimeProperty;
     private final ObjectProperty<Duration> totalDurationProperty;
@@ -26,10 +27,11 @@ public class MusicPlayer {
 
     // Other properties
     private final BooleanProperty loopProperty;
+    private final ObjectProperty<Runnable> onSongEndProperty;
 
     public MusicPlayer() {
 
-        playerCache = new MediaPlayerCache();
+        playerPool = new MediaPlayerPool(this::createNewPlayerForMedia, this::releasePlayer);
 
         spectrumIntervalProperty = new SimpleDoubleProperty();
         spectrumNumBandsProperty = new SimpleIntegerProperty();
@@ -42,21 +44,26 @@ public class MusicPlayer {
         statusProperty = new SimpleObjectProperty<>();
 
         loopProperty = new SimpleBooleanProperty();
+        onSongEndProperty = new SimpleObjectProperty<>();
     }
 
     public void setSong(Media media) {
+        setSong(media.getSource());
+    }
+
+    public void setSong(String source) {
 
-        if(getStatus() == PLAYING) {
+        // Pooled players keep their position, so the outgoing one is rewound even when it is only paused
+        if(getStatus() == PLAYING || getStatus() == PAUSED) {
             stop();
         }
 
-        MediaPlayer currentPlayer = playerCache.get(media);
-
-        if(currentPlayer == null) {
-            currentPlayer = createNewPlayerForMedia(media);
-        }
+        updateMediaPlayerPropertyBindings(playerPool.get(source));
+    }
 
-        updateMediaPlayerPropertyBindings(currentPlayer);
+    public void prepare(String source) {
+        // A new player prerolls to READY on its own, so the later setSong of this source only has to start it
+        playerPool.get(source);
     }
 
     public void play() {
@@ -184,8 +191,28 @@ public class MusicPlayer {
         this.loopProperty.set(loopProperty);
     }
 
+    public Runnable getOnSongEnd() {
+        return onSongEndProperty.get();
+    }
+
+    public ObjectProperty<Runnable> onSongEndProperty() {
+        return onSongEndProperty;
+    }
+
+    public void setOnSongEnd(Runnable onSongEnd) {
+        onSongEndProperty.set(onSongEnd);
+    }
+
+    public MediaPlayerPool getPlayerPool() {
+        return playerPool;
+    }
+
     public void clearCache() {
-        playerCache.clear();
+        currentPlayerProperty.set(null);
+        currentTimeProperty.unbind();
+        totalDurationProperty.unbind();
+        statusProperty.unbind();
+        playerPool.clear();
     }
 
     private void updateMediaPlayerPropertyBindings(MediaPlayer currentPlayer) {
@@ -208,14 +235,25 @@ public class MusicPlayer {
 
         currentPlayer.setOnEndOfMedia(this::onMediaEnd);
 
-        playerCache.put(media, currentPlayer);
-
         return currentPlayer;
     }
 
+    private void releasePlayer(MediaPlayer player) {
+
+        player.audioSpectrumIntervalProperty().unbind();
+        player.audioSpectrumNumBandsProperty().unbind();
+        player.audioSpectrumThresholdProperty().unbind();
+        player.audioSpectrumListenerProperty().unbind();
+        player.setAudioSpectrumListener(null);
+
+        player.setOnEndOfMedia(null);
+    }
+
     private void onMediaEnd() {
         if(loopProperty.get()) {
             getCurrentPlayer().seek(Duration.ZERO);
+        } else if(getOnSongEnd() != null) {
+            getOnSongEnd().run();
         }
     }
 }
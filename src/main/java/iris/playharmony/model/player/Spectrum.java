@@ -5,6 +5,8 @@ import javafx.animation.Interpolator;
 import javafx.scene.media.AudioSpectrumListener;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
 
 
 public class Spectrum implements AudioSpectrumListener {
@@ -12,12 +14,22 @@ public class Spectrum implements AudioSpectrumListener {
     private static final double DEFAULT_SPECTRUM_INTERVAL = 0.01;
     private static final int DEFAULT_SPECTRUM_NUM_BANDS = 800;
     private static final int DEFAULT_SPECTRUM_THRESHOLD = -60; // dB
+    private static final int DEFAULT_SMOOTH_RADIUS = Integer.getInteger("playharmony.spectrum.smoothRadius", GaussianSmooth.DEFAULT_RADIUS);
+    private static final double DEFAULT_SMOOTH_SIGMA = getSmoothSigma(DEFAULT_SMOOTH_RADIUS);
+
+    // Triple buffer: the media thread fills one frame, the renderer reads another and the third is the latest published one
+    private static final int FRAME_INDEX_MASK = 0b011;
+    private static final int NEW_FRAME = 0b100;
 
     // The audio properties
-    private final float[] audioData;
+    private final float[][] frames;
+    private final AtomicInteger publishedFrame;
+    private int writeFrame;
+    private int readFrame;
     private final int threshold;
     private final double interval;
-    private boolean initialized;
+    private volatile boolean initialized;
+    private final GaussianSmooth smooth;
     // The interpolator
     private final Interpolator interpolator;
 
@@ -26,31 +38,49 @@ public class Spectrum implements AudioSpectrumListener {
     }
 
     public Spectrum(Interpolator interpolator, int numBands, int threshold, double interval) {
-        audioData = new float[numBands];
+        frames = new float[3][numBands];
+        writeFrame = 0;
+        publishedFrame = new AtomicInteger(1);
+        readFrame = 2;
         this.threshold = threshold;
         this.interval = interval;
         this.interpolator = interpolator;
+        smooth = new GaussianSmooth(DEFAULT_SMOOTH_RADIUS, DEFAULT_SMOOTH_SIGMA);
     }
 
     @Override
     public void spectrumDataUpdate(double timestamp, double duration, float[] magnitudes, float[] phases) {
-        GaussianSmooth.gaussianSmooth(magnitudes, audioData, magnitudes.length);
-        for(int i = 0;i < 3;i++) {
-            GaussianSmooth.gaussianSmooth(audioData, audioData, magnitudes.length);
-        }
+        final float[] frame = frames[writeFrame];
+        final int count = Math.min(magnitudes.length, frame.length);
+        smooth.smooth(magnitudes, frame, count);
+        // The frame is reused, so bands missing from this callback would keep a value from three frames ago
+        Arrays.fill(frame, count, frame.length, threshold);
+        writeFrame = publishedFrame.getAndSet(writeFrame | NEW_FRAME) & FRAME_INDEX_MASK;
         initialized = true;
     }
 
+    // Called once per render tick. Until the next latch, every read sees the same complete frame
+    public boolean latch() {
+
+        if((publishedFrame.get() & NEW_FRAME) == 0) {
+            return false;
+        }
+
+        readFrame = publishedFrame.getAndSet(readFrame) & FRAME_INDEX_MASK;
+
+        return true;
+    }
+
     public int getNumBands() {
-        return audioData.length;
+        return frames[0].length;
     }
 
     public float[] getAudioData() {
-        return audioData;
+        return frames[readFrame];
     }
 
     public float getAudioMagnitude(int i) {
-        return audioData[i] - threshold;
+        return frames[readFrame][i] - threshold;
     }
 
     public int getThreshold() {
@@ -68,4 +98,19 @@ public class Spectrum implements AudioSpectrumListener {
     public boolean isInitialized() {
         return initialized;
     }
+
+    private static double getSmoothSigma(int radius) {
+
+        final String sigma = System.getProperty("playharmony.spectrum.smoothSigma");
+
+        if(sigma != null) {
+            try {
+                return Double.parseDouble(sigma);
+            } catch (NumberFormatException e) {
+                Logger.getGlobal().warning("Invalid playharmony.spectrum.smoothSigma: " + sigma);
+            }
+        }
+
+        return GaussianSmooth.getDefaultSigma(radius);
+    }
 }
@@ -1,7 +1,9 @@
 package iris.playharmony.session;
 
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.controller.db.DatabaseController;
 import iris.playharmony.model.User;
+import iris.playharmony.view.player.PlaybackEngine;
 
 public class Session {
 
@@ -28,6 +30,15 @@ public class Session {
 
     public void setCurrentUser(User user) {
         System.out.println("Setting current user: " + user);
+        if(this.user != null && this.user != user) {
+            final User previousUser = this.user;
+            AsyncDatabaseController.get().submit(() -> {
+                DatabaseController.get().flushPlaylists(previousUser);
+                return null;
+            });
+            // The next user starts without the previous user's songs still loaded
+            PlaybackEngine.get().getViewModel().getMusicPlayer().clearCache();
+        }
         this.user = user;
     }
 }
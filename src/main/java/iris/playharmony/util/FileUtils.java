@@ -1,12 +1,24 @@
 package iris.playharmony.util;
 
-import java.io.*;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 public class FileUtils {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
+
     public static void readFileBinary(File file, InputStreamConsumer consumer) {
 
-        try (FileInputStream inputStream = new FileInputStream(file)) {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE)) {
 
             consumer.consume(inputStream);
 
@@ -15,48 +27,22 @@ public class FileUtils {
         }
     }
 
-    private static File writeToFile(File file, InputStream inputStream) {
+    public static long writeToFile(Path file, ReadableByteChannel channel) throws IOException {
 
-        try(FileOutputStream outputStream = new FileOutputStream(file)) {
+        try(ReadableByteChannel source = channel;
+            FileChannel target = FileChannel.open(file,
+                    StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
 
-            byte[] buffer = new byte[1024];
+            long position = 0;
+            long transferred;
 
-            while(inputStream.read(buffer) > 0) {
-                outputStream.write(buffer);
+            // transferFrom only returns 0 once a blocking source reaches its end
+            while((transferred = target.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
             }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-
-        } finally {
-            closeInputStream(inputStream);
-        }
-
-        return file;
-    }
-
-    public static File writeToTemporalFile(InputStream inputStream) {
-
-        File file = createTmpFile();
-
-        return writeToFile(file, inputStream);
-    }
-
-    private static void closeInputStream(InputStream inputStream) {
-        try {
-            inputStream.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    private static File createTmpFile() {
-        try {
-            return File.createTempFile("tmp", ".tmp");
-        } catch (IOException e) {
-            e.printStackTrace();
+            return position;
         }
-        return null;
     }
 
     private FileUtils() {}
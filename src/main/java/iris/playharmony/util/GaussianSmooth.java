@@ -2,32 +2,86 @@ package iris.playharmony.util;
 
 public class GaussianSmooth {
 
-    public static void gaussianSmooth(float[] src, float[] dest, int count) {
+    public static final int DEFAULT_RADIUS = 4;
 
-        for(int i = 0;i < count;i++) {
+    public static final double DEFAULT_SIGMA = getDefaultSigma(DEFAULT_RADIUS);
+
+    private final int radius;
+    private final float[] weights;
+    private float[] scratch;
 
-            float value = src[i];
+    public GaussianSmooth() {
+        this(DEFAULT_RADIUS, DEFAULT_SIGMA);
+    }
 
-            float prev = i == 0 ? value : src[i - 1];
+    public GaussianSmooth(int radius) {
+        this(radius, getDefaultSigma(radius));
+    }
 
-            float next = i == src.length - 1 ? value : src[i + 1];
+    // Same spread as repeating the in-place 3-tap average once per sample of radius, which this kernel replaced
+    public static double getDefaultSigma(int radius) {
+        return Math.sqrt(2.0 * Math.max(radius, 1) / 3.0);
+    }
 
-            float smoothed = getAverage(prev, value, next);
+    public GaussianSmooth(int radius, double sigma) {
 
-            dest[i] = smoothed;
+        if(radius < 0 || sigma <= 0) {
+            throw new IllegalArgumentException("Invalid gaussian kernel: radius=" + radius + ", sigma=" + sigma);
         }
 
+        this.radius = radius;
+        weights = createWeights(radius, sigma);
+        scratch = new float[0];
     }
 
-    private static float getAverage(float... values) {
+    // Not thread safe: each caller owns its kernel, since the scratch buffer is reused between calls
+    public void smooth(float[] src, float[] dest, int count) {
 
-        float sum = 0.0f;
+        float[] input = src;
 
-        for(int i = 0;i < Math.min(10, values.length);i++) {
-            sum += values[i];
+        if(src == dest) {
+            if(scratch.length < count) {
+                scratch = new float[count];
+            }
+            System.arraycopy(src, 0, scratch, 0, count);
+            input = scratch;
         }
 
-        return sum / values.length;
+        final int last = count - 1;
+
+        for(int i = 0;i < count;i++) {
+
+            float sum = weights[0] * input[i];
+
+            // Samples past either end repeat the edge value
+            for(int k = 1;k <= radius;k++) {
+                sum += weights[k] * (input[Math.max(i - k, 0)] + input[Math.min(i + k, last)]);
+            }
+
+            dest[i] = sum;
+        }
     }
 
+    public int getRadius() {
+        return radius;
+    }
+
+    private static float[] createWeights(int radius, double sigma) {
+
+        double[] weights = new double[radius + 1];
+        double total = 0;
+
+        for(int k = 0;k <= radius;k++) {
+            weights[k] = Math.exp(-(k * k) / (2 * sigma * sigma));
+            total += k == 0 ? weights[k] : 2 * weights[k];
+        }
+
+        float[] normalizedWeights = new float[radius + 1];
+
+        for(int k = 0;k <= radius;k++) {
+            normalizedWeights[k] = (float) (weights[k] / total);
+        }
+
+        return normalizedWeights;
+    }
 }
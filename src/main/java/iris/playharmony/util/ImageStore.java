@@ -0,0 +1,310 @@
+package iris.playharmony.util;
+
+import iris.playharmony.controller.handler.PathHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ImageStore {
+
+    private static final String IMAGE_EXTENSION = ".img";
+    private static final String TEMPORAL_EXTENSION = ".tmp";
+
+    private static final long MAX_STORE_BYTES = Long.getLong("playharmony.imageStore.maxBytes", 256L * 1024 * 1024);
+
+    private static volatile ImageStore instance;
+
+    public static ImageStore get() {
+        if(instance == null) {
+            synchronized (ImageStore.class) {
+                if(instance == null) {
+                    instance = new ImageStore(Paths.get(PathHandler.IMAGE_STORE_PATH), MAX_STORE_BYTES);
+                }
+            }
+        }
+        return instance;
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<String, String> owners;
+    private long storedBytes;
+
+    // Statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private ImageStore(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        entries = new LinkedHashMap<>(64, 0.75f, true);
+        owners = new HashMap<>();
+        loadDirectory();
+    }
+
+    public File store(String owner, byte[] image) {
+
+        if(image == null) {
+            return null;
+        }
+
+        final String hash = toHex(createDigest().digest(image));
+
+        // Most images are already stored, only the missing ones are written to disk
+        File storedImage = reference(owner, hash);
+
+        if(storedImage != null) {
+            return storedImage;
+        }
+
+        Path temporalFile = null;
+
+        try {
+
+            temporalFile = Files.createTempFile(directory, "image", TEMPORAL_EXTENSION);
+
+            FileUtils.writeToFile(temporalFile, Channels.newChannel(new ByteArrayInputStream(image)));
+
+            return put(owner, hash, temporalFile);
+
+        } catch (IOException e) {
+            Logger.getGlobal().log(Level.WARNING, "Cannot store image of " + owner, e);
+        } finally {
+            deleteIfExists(temporalFile);
+        }
+
+        return null;
+    }
+
+    public synchronized void release(String owner) {
+
+        final String hash = owners.remove(owner);
+
+        if(hash != null) {
+            Entry entry = entries.get(hash);
+            if(entry != null) {
+                entry.references--;
+            }
+            evictIfNeeded();
+        }
+    }
+
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ImageStore{" +
+                "directory=" + directory.toAbsolutePath() +
+                ", images=" + entries.size() +
+                ", storedBytes=" + storedBytes +
+                ", maxBytes=" + maxBytes +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    private synchronized File reference(String owner, String hash) {
+
+        Entry entry = entries.get(hash);
+
+        if(entry == null || !Files.exists(entry.path)) {
+            return null;
+        }
+
+        hits++;
+        touch(entry.path);
+
+        return addOwner(owner, hash, entry);
+    }
+
+    private synchronized File put(String owner, String hash, Path temporalFile) throws IOException {
+
+        Entry entry = entries.get(hash);
+
+        if(entry != null && Files.exists(entry.path)) {
+            hits++;
+            touch(entry.path);
+        } else {
+            misses++;
+            Path path = directory.resolve(hash + IMAGE_EXTENSION);
+            Files.move(temporalFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if(entry != null) {
+                storedBytes -= entry.size;
+            }
+            entry = new Entry(path, Files.size(path), entry != null ? entry.references : 0);
+            entries.put(hash, entry);
+            storedBytes += entry.size;
+        }
+
+        return addOwner(owner, hash, entry);
+    }
+
+    private File addOwner(String owner, String hash, Entry entry) {
+
+        final String previousHash = owners.put(owner, hash);
+
+        if(!hash.equals(previousHash)) {
+            entry.references++;
+            if(previousHash != null && entries.containsKey(previousHash)) {
+                entries.get(previousHash).references--;
+            }
+        }
+
+        evictIfNeeded();
+
+        return entry.path.toFile();
+    }
+
+    private void evictIfNeeded() {
+
+        Iterator<Entry> iterator = entries.values().iterator();
+
+        while(storedBytes > maxBytes && iterator.hasNext()) {
+
+            Entry entry = iterator.next();
+
+            // Images still referenced by a user or a song may be on screen, so only unreferenced ones are evicted
+            if(entry.references > 0) {
+                continue;
+            }
+
+            iterator.remove();
+            storedBytes -= entry.size;
+            evictions++;
+            deleteIfExists(entry.path);
+        }
+    }
+
+    private void loadDirectory() {
+
+        try {
+
+            Files.createDirectories(directory);
+
+            List<Path> images = new ArrayList<>();
+
+            try(DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for(Path file : files) {
+                    if(file.toString().endsWith(IMAGE_EXTENSION)) {
+                        images.add(file);
+                    } else if(file.toString().endsWith(TEMPORAL_EXTENSION)) {
+                        deleteIfExists(file);
+                    }
+                }
+            }
+
+            // Oldest first, so the access-ordered map starts in least recently used order
+            images.sort(Comparator.comparing(ImageStore::getLastModifiedTime));
+
+            for(Path image : images) {
+                final String fileName = image.getFileName().toString();
+                Entry entry = new Entry(image, Files.size(image), 0);
+                entries.put(fileName.substring(0, fileName.length() - IMAGE_EXTENSION.length()), entry);
+                storedBytes += entry.size;
+            }
+
+            evictIfNeeded();
+
+        } catch (IOException e) {
+            Logger.getGlobal().log(Level.WARNING, "Cannot load image store " + directory.toAbsolutePath(), e);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+
+        for(byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return hex.toString();
+    }
+
+    private static FileTime getLastModifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            Logger.getGlobal().log(Level.FINE, "Cannot touch " + path, e);
+        }
+    }
+
+    private static void deleteIfExists(Path path) {
+        try {
+            if(path != null) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            Logger.getGlobal().log(Level.WARNING, "Cannot delete " + path, e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Path path;
+        private final long size;
+        private int references;
+
+        private Entry(Path path, long size, int references) {
+            this.path = path;
+            this.size = size;
+            this.references = references;
+        }
+    }
+}
@@ -1,25 +1,24 @@
 package iris.playharmony.util;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class Json {
 
     public static String toJson(Object object) {
-        return new GsonBuilder().setPrettyPrinting().create().toJson(object);
+        return JsonCodec.encode(object, true);
     }
 
     public static <T> T fromJson(Class<T> clazz, String json) {
-        return new Gson().fromJson(json, clazz);
+        return JsonCodec.decode(json, clazz);
     }
 
     public static <T> T fromJsonFile(Class<T> clazz, String jsonFile) {
-        try {
-            return fromJson(clazz, new String(Files.readAllBytes(Paths.get(jsonFile))));
+        try(Reader reader = Files.newBufferedReader(Paths.get(jsonFile), StandardCharsets.UTF_8)) {
+            return JsonCodec.decode(reader, clazz);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,102 @@
+package iris.playharmony.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class JsonCodec {
+
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    private static final Map<Type, TypeAdapter<?>> TYPE_ADAPTERS = new ConcurrentHashMap<>();
+
+    private JsonCodec() {}
+
+    public static Gson getGson() {
+        return GSON;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> TypeAdapter<T> getTypeAdapter(Type type) {
+        return (TypeAdapter<T>) TYPE_ADAPTERS.computeIfAbsent(type, key -> GSON.getAdapter(TypeToken.get(key)));
+    }
+
+    public static <T> T decode(String json, Type type) {
+        return json == null ? null : decode(new StringReader(json), type);
+    }
+
+    public static <T> T decode(Reader reader, Type type) {
+
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setLenient(true);
+
+        try {
+
+            jsonReader.peek();
+
+        } catch (EOFException e) {
+            // Empty document, as Gson.fromJson does
+            return null;
+        } catch (IOException e) {
+            throw new JsonParseException("Cannot decode " + type.getTypeName(), e);
+        }
+
+        try {
+            return JsonCodec.<T>getTypeAdapter(type).read(jsonReader);
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonParseException("Cannot decode " + type.getTypeName(), e);
+        }
+    }
+
+    public static String encode(Object object) {
+        return encode(object, false);
+    }
+
+    public static String encode(Object object, boolean pretty) {
+
+        StringWriter writer = new StringWriter();
+
+        encode(object, writer, pretty);
+
+        return writer.toString();
+    }
+
+    public static void encode(Object object, Writer writer, boolean pretty) {
+
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setLenient(true);
+        jsonWriter.setSerializeNulls(false);
+
+        if(pretty) {
+            jsonWriter.setIndent("  ");
+        }
+
+        try {
+
+            if(object == null) {
+                jsonWriter.nullValue();
+            } else {
+                getTypeAdapter(object.getClass()).write(jsonWriter, object);
+            }
+
+            jsonWriter.flush();
+
+        } catch (IOException e) {
+            throw new JsonParseException("Cannot encode " + object.getClass().getTypeName(), e);
+        }
+    }
+}
@@ -16,6 +16,10 @@ public class MediaFactory {
         return null;
     }
 
+    public static String getMediaSource(String file) {
+        return new File(file).toURI().toString();
+    }
+
     public static Media getMediaFromSong(Song song) {
         return new Media(getSongPath(song));
     }
@@ -1,23 +1,22 @@
 package iris.playharmony.util;
 
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.controller.db.DatabaseController;
 import iris.playharmony.model.Song;
 import iris.playharmony.model.SongReview;
+import iris.playharmony.model.User;
 import iris.playharmony.session.Session;
 import org.controlsfx.control.Rating;
 
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class SongReviewUtils {
 
     public static double getAverageRating(Song song) {
 
         return DatabaseController.get()
-                .getSongReviews()
-                .stream()
-                .filter(songReview -> songReview.getSongTitle().equals(song.getTitle()))
-                .mapToDouble(songReview -> (double)songReview.getRating())
-                .average().orElse(0);
+                .getRatingSummary(song.getTitle())
+                .getAverage();
     }
 
     public static Rating getRatingElement(Song song) {
@@ -34,24 +33,14 @@ public class SongReviewUtils {
 
     private static void onRatingClick(Song song, Rating rating) {
 
-        Optional<SongReview> currentUserSongReview =
-                DatabaseController.get().getSongReviews().stream()
-                .filter(songReview -> songReview.getUser().equals(Session.getSession().currentUser().getName()))
-                .filter(songReview -> songReview.getSongTitle().equals(song.getTitle()))
-                .findFirst();
+        final User currentUser = Session.getSession().currentUser();
+        final SongReview newSongReview = SongReview.from(currentUser, song, rating);
 
-        if (currentUserSongReview.isPresent()) {
+        CompletableFuture<Double> averageRating = AsyncDatabaseController.get().submit(() -> {
+            DatabaseController.get().upsertSongReview(newSongReview);
+            return SongReviewUtils.getAverageRating(song);
+        });
 
-            SongReview songReview = currentUserSongReview.get();
-            songReview.setRating(rating.getRating());
-            DatabaseController.get().updateSongReview(songReview);
-
-        } else {
-
-            SongReview songReview = SongReview.from(Session.getSession().currentUser(), song, rating);
-            DatabaseController.get().addSongReview(songReview);
-        }
-
-        rating.setRating(SongReviewUtils.getAverageRating(song));
+        AsyncDatabaseController.onFxThread(averageRating, rating::setRating);
     }
 }
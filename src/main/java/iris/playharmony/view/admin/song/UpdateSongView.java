@@ -1,7 +1,7 @@
 package iris.playharmony.view.admin.song;
 
 import iris.playharmony.controller.NavController;
-import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.model.Song;
 import iris.playharmony.util.OnRefresh;
 import iris.playharmony.util.TypeUtils;
@@ -60,6 +60,12 @@ public class UpdateSongView extends FormTemplate {
         });
         pathPhoto.setText(song.getPhoto());
         pathFile.setText(song.getPathFile());
+        AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().openSongPhoto(song.getTitle()), photo -> {
+            // A photo uploaded in the meantime wins over the stored one
+            if(photo != null && photoFile == null) {
+                pathPhoto.setText(photo.getAbsolutePath());
+            }
+        });
     }
 
     @Override
@@ -72,12 +78,14 @@ public class UpdateSongView extends FormTemplate {
     private void updateSong() {
         if(allFieldsAreSet()) {
             Song song = new Song(title.getText(), author.getText(), pathPhoto.getText(), dateDay.getText() + "-" + dateMonth.getText() + "-" + dateYear.getText(), pathFile.getText());
-            if(DatabaseController.get().updateSong(song, this.song.getTitle())) {
-                NavController.get().popView();
-                TypeUtils.callAnnotatedMethod(NavController.get().getCurrentView(), OnRefresh.class);
-            } else {
-                AlertFactory.errorAlert("ERROR! Song is already registered", "ERROR! Song is already registered");
-            }
+            AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().updateSong(song, this.song.getTitle()), updated -> {
+                if(updated) {
+                    NavController.get().popView();
+                    TypeUtils.callAnnotatedMethod(NavController.get().getCurrentView(), OnRefresh.class);
+                } else {
+                    AlertFactory.errorAlert("ERROR! Song is already registered", "ERROR! Song is already registered");
+                }
+            });
         } else {
             AlertFactory.errorAlert("ERROR! Song is incorrect", "ERROR! All required fields must be filled");
         }
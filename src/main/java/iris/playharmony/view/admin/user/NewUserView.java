@@ -1,7 +1,7 @@
 package iris.playharmony.view.admin.user;
 
 import iris.playharmony.controller.NavController;
-import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.model.User;
 import iris.playharmony.view.util.AlertFactory;
 import iris.playharmony.view.util.ButtonFactory;
@@ -33,14 +33,17 @@ public class NewUserView extends UserFormView {
             return;
         }
 
-        if(DatabaseController.get().addUser(user)) {
+        AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().addUser(user), added -> {
 
-            NavController.get().popView();
-            UserListView userListView = NavController.get().getCurrentView();
-            userListView.refresh();
+            if(added) {
 
-        } else {
-            AlertFactory.errorAlert("ERROR! User is already registered", "ERROR! User is already registered");
-        }
+                NavController.get().popView();
+                UserListView userListView = NavController.get().getCurrentView();
+                userListView.refresh();
+
+            } else {
+                AlertFactory.errorAlert("ERROR! User is already registered", "ERROR! User is already registered");
+            }
+        });
     }
 }
@@ -1,7 +1,7 @@
 package iris.playharmony.view.admin.user;
 
 import iris.playharmony.controller.NavController;
-import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.model.ObservableUser;
 import iris.playharmony.model.User;
 import iris.playharmony.view.util.AlertFactory;
@@ -48,14 +48,17 @@ public class UpdateUserView extends UserFormView {
             return;
         }
 
-        if(DatabaseController.get().updateUser(user, user.getEmail().toString())) {
+        AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().updateUser(user, user.getEmail().toString()), updated -> {
 
-            NavController.get().popView();
-            UserListView userListView = NavController.get().getCurrentView();
-            userListView.refresh();
+            if(updated) {
 
-        } else {
-            AlertFactory.errorAlert("ERROR! Failed to update user", "ERROR! Failed to update user");
-        }
+                NavController.get().popView();
+                UserListView userListView = NavController.get().getCurrentView();
+                userListView.refresh();
+
+            } else {
+                AlertFactory.errorAlert("ERROR! Failed to update user", "ERROR! Failed to update user");
+            }
+        });
     }
 }
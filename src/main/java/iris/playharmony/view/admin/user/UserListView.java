@@ -1,6 +1,7 @@
 package iris.playharmony.view.admin.user;
 
 import iris.playharmony.controller.NavController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.controller.db.DatabaseController;
 import iris.playharmony.model.ObservableUser;
 import iris.playharmony.view.template.ListTemplate;
@@ -67,9 +68,11 @@ public class UserListView extends ListTemplate<ObservableUser> {
         if(selection == null)
             return;
         if(AlertFactory.confirmAlert("Delete User", "Do you want to delete the user?")) {
-            if (!DatabaseController.get().removeUser(selection.getEmail()))
-                AlertFactory.errorAlert("ERROR! Couldn't remove user", "ERROR! Couldn't remove user");
-            refresh();
+            AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().removeUser(selection.getEmail()), removed -> {
+                if (!removed)
+                    AlertFactory.errorAlert("ERROR! Couldn't remove user", "ERROR! Couldn't remove user");
+                refresh();
+            }, e -> AlertFactory.errorAlert("ERROR! Couldn't remove user", "ERROR! Couldn't remove user"));
         }
     }
 
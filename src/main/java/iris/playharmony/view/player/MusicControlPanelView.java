@@ -1,5 +1,6 @@
 package iris.playharmony.view.player;
 
+import iris.playharmony.view.util.ViewBindings;
 import javafx.geometry.Pos;
 import javafx.scene.DepthTest;
 import javafx.scene.layout.VBox;
@@ -12,7 +13,7 @@ public class MusicControlPanelView extends VBox {
     private final SongTimeView timeView;
     private final SongButtonPanel buttonPanel;
 
-    public MusicControlPanelView(MusicPlayerViewModel viewModel) {
+    public MusicControlPanelView(MusicPlayerViewModel viewModel, ViewBindings bindings) {
 
         setTranslateZ(-1);
 
@@ -20,9 +21,9 @@ public class MusicControlPanelView extends VBox {
         setAlignment(Pos.CENTER);
         setMinHeight(MIN_HEIGHT);
 
-        timeView = new SongTimeView(viewModel);
+        timeView = new SongTimeView(viewModel, bindings);
 
-        buttonPanel = new SongButtonPanel(viewModel);
+        buttonPanel = new SongButtonPanel(viewModel, bindings);
 
         getChildren().addAll(timeView, buttonPanel);
     }
@@ -2,6 +2,7 @@ package iris.playharmony.view.player;
 
 import iris.playharmony.util.OnFinish;
 import iris.playharmony.view.player.spectrum.SpectrumView;
+import iris.playharmony.view.util.ViewBindings;
 import javafx.geometry.Pos;
 import javafx.scene.effect.InnerShadow;
 import javafx.scene.layout.BorderPane;
@@ -21,18 +22,24 @@ public class MusicPlayerView extends BorderPane {
     private final SpectrumView spectrumView;
     private final MusicControlPanelView controlPanelView;
     private final MusicPlayerViewModel viewModel;
+    private final ViewBindings bindings;
 
     public MusicPlayerView(MusicPlayerViewModel viewModel) {
 
         this.viewModel = requireNonNull(viewModel);
-        
+
+        bindings = new ViewBindings();
+
         title = createTitle(viewModel);
         spectrumView = createSpectrumView(viewModel);
         controlPanelView = createControlPanelView(viewModel);
+
+        bindings.attachWhileShowing(this);
     }
 
     @OnFinish
     public void onFinish() {
+        bindings.detach();
         viewModel.getMusicPlayer().stop();
     }
 
@@ -44,7 +51,7 @@ public class MusicPlayerView extends BorderPane {
 
         title.setTextAlignment(TextAlignment.CENTER);
 
-        title.textProperty().bind(viewModel.songTitleProperty());
+        bindings.bind(title.textProperty(), viewModel.songTitleProperty());
 
         title.setEffect(new InnerShadow());
 
@@ -59,7 +66,7 @@ public class MusicPlayerView extends BorderPane {
 
     private SpectrumView createSpectrumView(MusicPlayerViewModel viewModel) {
 
-        SpectrumView spectrumView = new SpectrumView(viewModel);
+        SpectrumView spectrumView = new SpectrumView(viewModel, bindings);
 
         setCenter(spectrumView);
 
@@ -68,7 +75,7 @@ public class MusicPlayerView extends BorderPane {
 
     private MusicControlPanelView createControlPanelView(MusicPlayerViewModel viewModel) {
 
-        MusicControlPanelView controlPanelView = new MusicControlPanelView(viewModel);
+        MusicControlPanelView controlPanelView = new MusicControlPanelView(viewModel, bindings);
 
         setBottom(controlPanelView);
 
@@ -1,5 +1,7 @@
 package iris.playharmony.view.player;
 
+import iris.playharmony.controller.db.AsyncDatabaseController;
+import iris.playharmony.controller.db.DatabaseController;
 import iris.playharmony.model.Song;
 import iris.playharmony.model.SongPlayMode;
 import iris.playharmony.model.player.MusicPlayer;
@@ -10,6 +12,8 @@ import iris.playharmony.util.Resources;
 import javafx.beans.property.*;
 import javafx.scene.image.Image;
 
+import java.io.File;
+
 public class MusicPlayerViewModel {
 
     private final MusicPlayer musicPlayer;
@@ -53,8 +57,19 @@ public class MusicPlayerViewModel {
     public void setSong(Song song) {
         songProperty.set(song);
         songTitleProperty.set(song.getTitle());
-        songImageProperty.set(ImageFactory.loadFromFile(song.getPhoto()));
-        musicPlayer.setSong(MediaFactory.getMedia(song.getPathFile()));
+        songImageProperty.set(null);
+        musicPlayer.setSong(MediaFactory.getMediaSource(song.getPathFile()));
+
+        AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().submit(() -> loadSongImage(song)), image -> {
+            // Another song may have started while the photo was loading
+            if(song == getSong()) {
+                songImageProperty.set(image);
+            }
+        });
+    }
+
+    public void prepareSong(Song song) {
+        musicPlayer.prepare(MediaFactory.getMediaSource(song.getPathFile()));
     }
 
     public String getSongTitle() {
@@ -92,4 +107,15 @@ public class MusicPlayerViewModel {
     public IntegerProperty nextSongTriggeredProperty() {
         return nextSongTriggeredProperty;
     }
+
+    private Image loadSongImage(Song song) {
+
+        File photo = DatabaseController.get().openSongPhoto(song.getTitle());
+
+        if(photo != null) {
+            return ImageFactory.loadFromFile(photo.getAbsolutePath());
+        }
+
+        return song.getPhoto() != null ? ImageFactory.loadFromFile(song.getPhoto()) : null;
+    }
 }
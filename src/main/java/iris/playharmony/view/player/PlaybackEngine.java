@@ -0,0 +1,166 @@
+package iris.playharmony.view.player;
+
+import iris.playharmony.model.Playlist;
+import iris.playharmony.model.Song;
+import iris.playharmony.model.SongPlayMode;
+import iris.playharmony.model.player.MusicPlayer;
+import iris.playharmony.model.player.Spectrum;
+import javafx.animation.Interpolator;
+
+import java.util.Random;
+
+// Owns the only player of the application. Views attach to its view model while shown and never create players
+public class PlaybackEngine {
+
+    private static final int NO_SONG = -1;
+
+    private static volatile PlaybackEngine instance;
+
+    public static PlaybackEngine get() {
+        if(instance == null) {
+            synchronized (PlaybackEngine.class) {
+                if(instance == null) {
+                    instance = new PlaybackEngine();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private final MusicPlayer musicPlayer;
+    private final Spectrum spectrum;
+    private final MusicPlayerViewModel viewModel;
+    private final Random random;
+
+    // Queue
+    private Playlist queue;
+    private int currentSongIndex;
+    private int nextSongIndex;
+
+    private PlaybackEngine() {
+
+        musicPlayer = new MusicPlayer();
+        spectrum = new Spectrum(Interpolator.LINEAR);
+        viewModel = new MusicPlayerViewModel(musicPlayer, spectrum);
+        random = new Random();
+
+        queue = new Playlist("queue");
+        nextSongIndex = NO_SONG;
+
+        viewModel.nextSongTriggeredProperty().addListener((observable, oldValue, newValue) -> nextSong());
+        viewModel.previousSongTriggeredProperty().addListener((observable, oldValue, newValue) -> previousSong());
+        viewModel.songPlayModeProperty().addListener((observable, oldValue, newValue) -> prepareNextSong());
+
+        musicPlayer.setOnSongEnd(this::onSongEnd);
+    }
+
+    public void play(Song song) {
+        Playlist singleSong = new Playlist(song.getTitle());
+        singleSong.addSong(song);
+        play(singleSong, song);
+    }
+
+    public void play(Playlist playlist, Song song) {
+
+        queue = playlist;
+
+        currentSongIndex = song != null ? Math.max(0, queue.getSongList().indexOf(song)) : 0;
+
+        if(!queue.getSongList().isEmpty()) {
+            playCurrentSong();
+        }
+    }
+
+    public void nextSong() {
+
+        if(queue.getSongList().isEmpty()) {
+            return;
+        }
+
+        if(nextSongIndex != NO_SONG && nextSongIndex < queue.getSongList().size()) {
+            currentSongIndex = nextSongIndex;
+        } else {
+            currentSongIndex = getNextSongIndex();
+        }
+
+        playCurrentSong();
+    }
+
+    public void previousSong() {
+
+        if(queue.getSongList().isEmpty()) {
+            return;
+        }
+
+        switch(getSongPlayMode()) {
+            case SEQUENTIAL:
+                currentSongIndex--;
+                if(currentSongIndex < 0) {
+                    currentSongIndex = queue.getSongList().size() - 1;
+                }
+                break;
+            case RANDOM:
+                currentSongIndex = random.nextInt(queue.getSongList().size());
+                break;
+            case SELF:
+                break;
+        }
+
+        playCurrentSong();
+    }
+
+    public void stop() {
+        musicPlayer.stop();
+    }
+
+    public MusicPlayerViewModel getViewModel() {
+        return viewModel;
+    }
+
+    public Playlist getQueue() {
+        return queue;
+    }
+
+    private SongPlayMode getSongPlayMode() {
+        return viewModel.songPlayModeProperty().get();
+    }
+
+    private void onSongEnd() {
+        // A single song has nothing to move on to unless it is meant to repeat
+        if(queue.getSongList().size() > 1 || getSongPlayMode() == SongPlayMode.SELF) {
+            nextSong();
+        }
+    }
+
+    private void playCurrentSong() {
+        viewModel.setSong(queue.getSongList().get(currentSongIndex));
+        musicPlayer.play();
+        prepareNextSong();
+    }
+
+    // The next song is chosen ahead of time so its player is already READY when the current one ends
+    private void prepareNextSong() {
+
+        if(queue.getSongList().isEmpty()) {
+            nextSongIndex = NO_SONG;
+            return;
+        }
+
+        nextSongIndex = getNextSongIndex();
+
+        if(nextSongIndex != currentSongIndex) {
+            viewModel.prepareSong(queue.getSongList().get(nextSongIndex));
+        }
+    }
+
+    private int getNextSongIndex() {
+        switch(getSongPlayMode()) {
+            case SEQUENTIAL:
+                return (currentSongIndex + 1) % queue.getSongList().size();
+            case RANDOM:
+                return random.nextInt(queue.getSongList().size());
+            default:
+                return currentSongIndex;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import iris.playharmony.model.player.MusicPlayer;
 import iris.playharmony.util.Resources;
 import iris.playharmony.view.util.ButtonFactory;
 import iris.playharmony.view.util.MultiImageButton;
+import iris.playharmony.view.util.ViewBindings;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.layout.HBox;
@@ -30,12 +31,12 @@ public class SongButtonPanel extends HBox {
     private final Button playPauseButton;
     private final Button forwardButton;
 
-    public SongButtonPanel(MusicPlayerViewModel viewModel) {
+    public SongButtonPanel(MusicPlayerViewModel viewModel, ViewBindings bindings) {
 
         setSpacing(SPACING);
         setAlignment(Pos.CENTER);
 
-        changePlayModeButton = createChangePlayModeButton(viewModel);
+        changePlayModeButton = createChangePlayModeButton(viewModel, bindings);
 
         previousButton = ButtonFactory.imageButton(Resources.get(ICONS_PLAYER_BACK));
 
@@ -81,7 +82,7 @@ public class SongButtonPanel extends HBox {
         return playPauseButton;
     }
 
-    private MultiImageButton createChangePlayModeButton(MusicPlayerViewModel viewModel) {
+    private MultiImageButton createChangePlayModeButton(MusicPlayerViewModel viewModel, ViewBindings bindings) {
 
         MultiImageButton changeButton = new MultiImageButton();
 
@@ -91,7 +92,7 @@ public class SongButtonPanel extends HBox {
 
         changeButton.setImage(SEQUENTIAL);
 
-        viewModel.songPlayModeProperty().addListener((observable, oldValue, newValue) -> changeButton.setImage(newValue));
+        bindings.listen(viewModel.songPlayModeProperty(), (observable, oldValue, newValue) -> changeButton.setImage(newValue));
 
         changeButton.setOnAction(e -> {
 
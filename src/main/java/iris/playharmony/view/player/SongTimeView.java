@@ -1,6 +1,7 @@
 package iris.playharmony.view.player;
 
 import iris.playharmony.model.player.MusicPlayer;
+import iris.playharmony.view.util.ViewBindings;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
@@ -23,21 +24,21 @@ public class SongTimeView extends HBox {
     private final Slider timeSlider;
     private final Label totalDurationLabel;
 
-    public SongTimeView(MusicPlayerViewModel viewModel) {
+    public SongTimeView(MusicPlayerViewModel viewModel, ViewBindings bindings) {
 
         setSpacing(SPACING);
         setAlignment(Pos.CENTER);
 
-        currentTimeLabel = createTimeLabel(viewModel);
-        timeSlider = createTimeSlider(viewModel);
-        totalDurationLabel = createDurationLabel(viewModel);
+        currentTimeLabel = createTimeLabel(viewModel, bindings);
+        timeSlider = createTimeSlider(viewModel, bindings);
+        totalDurationLabel = createDurationLabel(viewModel, bindings);
     }
 
-    private Label createTimeLabel(MusicPlayerViewModel viewModel) {
+    private Label createTimeLabel(MusicPlayerViewModel viewModel, ViewBindings bindings) {
 
         Label timeLabel = new Label();
 
-        viewModel.getMusicPlayer().currentTimeProperty().addListener((observable, oldValue, newValue) -> {
+        bindings.listen(viewModel.getMusicPlayer().currentTimeProperty(), (observable, oldValue, newValue) -> {
             timeLabel.setText(String.format(SONG_TIME_FORMAT, (int)newValue.toMinutes() % 60, (int)newValue.toSeconds() % 60));
         });
 
@@ -46,7 +47,7 @@ public class SongTimeView extends HBox {
         return timeLabel;
     }
 
-    private Slider createTimeSlider(MusicPlayerViewModel viewModel) {
+    private Slider createTimeSlider(MusicPlayerViewModel viewModel, ViewBindings bindings) {
 
         Slider slider = new Slider();
 
@@ -62,12 +63,12 @@ public class SongTimeView extends HBox {
             }
         });
 
-        musicPlayer.totalDurationProperty().addListener((observable, oldValue, newValue) -> {
+        bindings.listen(musicPlayer.totalDurationProperty(), (observable, oldValue, newValue) -> {
             if(newValue != null)
                 slider.setMax(newValue.toSeconds());
         });
 
-        musicPlayer.currentTimeProperty().addListener((observable, oldValue, newValue) -> {
+        bindings.listen(musicPlayer.currentTimeProperty(), (observable, oldValue, newValue) -> {
             changedByMusicPlayer.set(true);
             slider.setValue(newValue.toSeconds());
             changedByMusicPlayer.set(false);
@@ -80,11 +81,11 @@ public class SongTimeView extends HBox {
         return slider;
     }
 
-    private Label createDurationLabel(MusicPlayerViewModel viewModel) {
+    private Label createDurationLabel(MusicPlayerViewModel viewModel, ViewBindings bindings) {
 
         Label durationLabel = new Label();
 
-        viewModel.getMusicPlayer().totalDurationProperty().addListener((observable, oldValue, newValue) -> {
+        bindings.listen(viewModel.getMusicPlayer().totalDurationProperty(), (observable, oldValue, newValue) -> {
             durationLabel.setText(String.format(SONG_TIME_FORMAT, (int)newValue.toMinutes() % 60, (int)newValue.toSeconds() % 60));
         });
 
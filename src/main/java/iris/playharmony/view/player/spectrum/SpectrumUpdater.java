@@ -28,6 +28,7 @@ public class SpectrumUpdater extends AnimationTimer {
         Spectrum spectrum = viewModel.getSpectrum();
 
         if(spectrum.isInitialized()) {
+            spectrum.latch();
             spectrumUpdatables.forEach(spectrumUpdatable -> spectrumUpdatable.update(spectrum, deltaTime));
         }
     }
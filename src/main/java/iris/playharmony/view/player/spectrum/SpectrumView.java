@@ -5,6 +5,7 @@ import iris.playharmony.view.player.MusicPlayerViewModel;
 import iris.playharmony.view.player.spectrum.bars.SpectrumBarsView;
 import iris.playharmony.view.player.spectrum.dancer.SpectrumDancerView;
 import iris.playharmony.view.util.Style;
+import iris.playharmony.view.util.ViewBindings;
 import javafx.scene.layout.Pane;
 
 import java.io.File;
@@ -16,9 +17,9 @@ public class SpectrumView extends Pane {
     private final SpectrumBarsView barsView;
     private final SpectrumUpdater spectrumUpdater;
 
-    public SpectrumView(MusicPlayerViewModel viewModel) {
+    public SpectrumView(MusicPlayerViewModel viewModel, ViewBindings bindings) {
 
-        dancerView = new SpectrumDancerView(layoutBoundsProperty(), viewModel);
+        dancerView = new SpectrumDancerView(layoutBoundsProperty(), viewModel, bindings);
 
         barsView = new SpectrumBarsView(layoutBoundsProperty());
 
@@ -32,7 +33,8 @@ public class SpectrumView extends Pane {
 
         getChildren().addAll(barsView, dancerView);
 
-        spectrumUpdater.start();
+        // The render loop only runs while the view is on screen
+        bindings.add(spectrumUpdater::start, spectrumUpdater::stop);
     }
 
 }
@@ -4,6 +4,7 @@ import iris.playharmony.model.player.Spectrum;
 import iris.playharmony.util.CircleImage;
 import iris.playharmony.view.player.MusicPlayerViewModel;
 import iris.playharmony.view.player.spectrum.SpectrumUpdatable;
+import iris.playharmony.view.util.ViewBindings;
 import javafx.animation.Interpolator;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.geometry.Bounds;
@@ -32,7 +33,7 @@ public class SpectrumDancerView extends AnchorPane implements SpectrumUpdatable
     private final CircleImage songImage;
     private final SpectrumDancerArcGroup arcs;
 
-    public SpectrumDancerView(ReadOnlyObjectProperty<Bounds> parentLayoutBounds, MusicPlayerViewModel viewModel) {
+    public SpectrumDancerView(ReadOnlyObjectProperty<Bounds> parentLayoutBounds, MusicPlayerViewModel viewModel, ViewBindings bindings) {
 
         setDepthTest(DepthTest.ENABLE);
 
@@ -49,7 +50,7 @@ public class SpectrumDancerView extends AnchorPane implements SpectrumUpdatable
             songImage.setTranslateY(newValue.getMinY() + songImage.getRadius() * 2.25);
         });
 
-        viewModel.songImageProperty().addListener((observable, oldValue, newValue) -> songImage.setImage(newValue));
+        bindings.listen(viewModel.songImageProperty(), (observable, oldValue, newValue) -> songImage.setImage(newValue));
 
         songImage.setRadius(MIN_RADIUS);
 
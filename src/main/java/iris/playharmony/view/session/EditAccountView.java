@@ -1,7 +1,7 @@
 package iris.playharmony.view.session;
 
 import iris.playharmony.controller.NavController;
-import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.model.Role;
 import iris.playharmony.model.User;
 import iris.playharmony.view.main.LobbyView;
@@ -59,13 +59,11 @@ public class EditAccountView extends FormTemplate {
     private void updateUser() {
         User useredited = getUserFromForm();
         if(useredited != null) {
-            try {
-                if (DatabaseController.get().updateMyAccount(useredited,user.getEmail().toString())) {
+            AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().updateMyAccount(useredited, user.getEmail().toString()), updated -> {
+                if (updated) {
                     NavController.get().pushView(new LobbyView());
                 }
-            } catch (Exception e) {
-                AlertFactory.errorAlert("ERROR! User is already registered", "ERROR! User is already registered");
-            }
+            }, e -> AlertFactory.errorAlert("ERROR! User is already registered", "ERROR! User is already registered"));
         }
     }
 
@@ -1,7 +1,7 @@
 package iris.playharmony.view.session;
 
 import iris.playharmony.controller.NavController;
-import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.model.Email;
 import iris.playharmony.model.Role;
 import iris.playharmony.model.User;
@@ -69,7 +69,11 @@ public class LoginView extends FormTemplate {
             return;
         }
 
-        final Optional<User> retrievedUser = getUserByEmail(email);
+        AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().getUserByEmail(email.toString()),
+                retrievedUser -> login(email, password, retrievedUser));
+    }
+
+    private void login(Email email, String password, Optional<User> retrievedUser) {
 
         if(!retrievedUser.isPresent()) {
             AlertFactory.errorAlert("ERROR: Login failed", "User " + email + " does not exist.");
@@ -92,12 +96,6 @@ public class LoginView extends FormTemplate {
         }
     }
 
-    private Optional<User> getUserByEmail(Email email) {
-        return DatabaseController.get().getUsers().stream()
-                .filter(user -> Objects.equals(user.getEmail(), email))
-                .findAny();
-    }
-
     private Email getEmail() {
 
         String text = emailField.getText();
@@ -1,7 +1,7 @@
 package iris.playharmony.view.session;
 
 import iris.playharmony.controller.NavController;
-import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.model.Email;
 import iris.playharmony.model.Role;
 import iris.playharmony.model.User;
@@ -59,13 +59,11 @@ public class SignUpView extends FormTemplate {
     private void createUser() {
         User user = getUserFromForm();
         if(user != null) {
-            try {
-                if (DatabaseController.get().addUser(user)) {
+            AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().addUser(user), added -> {
+                if (added) {
                     NavController.get().pushView(new LobbyView());
                 }
-            } catch (Exception e) {
-                AlertFactory.errorAlert("ERROR! User is already registered", "ERROR! User is already registered");
-            }
+            }, e -> AlertFactory.errorAlert("ERROR! User is already registered", "ERROR! User is already registered"));
         }
     }
 
@@ -1,11 +1,14 @@
 package iris.playharmony.view.template;
 
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.model.ObservableSong;
 import iris.playharmony.util.OnRefresh;
 import iris.playharmony.view.util.DefaultStyle;
+import iris.playharmony.view.util.PagedData;
 import iris.playharmony.view.util.TableFactory;
 import iris.playharmony.view.util.TextFactory;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
@@ -14,19 +17,26 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.VBox;
+import javafx.util.Callback;
 
 import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public abstract class ListTemplate<T> extends VBox {
 
     private Comparator<T> comparator;
     private ObservableList<T> data;
+    private int dataVersion;
+    private boolean showingPages;
 
     private TextField searchField;
     private TableView table;
     private Pagination pagination;
 
     private static final int SPACING = 15;
+    private static final int PREFETCH_PAGES = 1;
 
     public ListTemplate(String title) {
         super(SPACING);
@@ -53,20 +63,51 @@ public abstract class ListTemplate<T> extends VBox {
 
     private void initData() {
         comparator = initComparator();
-        data = getObservableData();
+        data = FXCollections.observableArrayList();
     }
 
     private void table() {
         add(TextFactory.searchField(searchField = new TextField(), event -> searchCommand()));
         add(table = TableFactory.table(data, initTable()));
-        add(pagination = TableFactory.pagination(data, table));
+        if(isPaged()) {
+            initPageSort();
+        }
+        add(pagination = isPaged() ? TableFactory.pagination(createPagedData(), table) : TableFactory.pagination(data, table));
         add(TemplateHelper.addPaddingTo(bottomButtonPanel()));
+        if(!isPaged()) {
+            showData(this::getSortedData);
+        }
     }
 
     protected abstract Comparator<T> initComparator();
 
     protected abstract ObservableList<T> getData();
 
+    protected boolean isPaged() {
+        return false;
+    }
+
+    // Paged views read their pages from the database, any other view can page through its sorted data
+    protected List<T> getPage(T after, int limit) {
+        return getSortedData().stream()
+                .filter(item -> after == null || comparator.compare(item, after) > 0)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // Whether the header of this column can sort the pages returned by getPage
+    protected boolean isPageSortable(TableColumn column) {
+        return false;
+    }
+
+    // Called with the first sorted column, or null, before the pages are loaded again
+    protected void setPageSort(TableColumn column) {}
+
+    protected ObservableList<T> search(String searchText) {
+        final String lowerCaseSearchText = searchText.toLowerCase();
+        return getData().filtered(fieldData -> fieldToFilter(fieldData).toLowerCase().contains(lowerCaseSearchText));
+    }
+
     protected void beforeTable() {}
 
     protected abstract String fieldToFilter(T fieldData);
@@ -82,9 +123,11 @@ public abstract class ListTemplate<T> extends VBox {
     @OnRefresh
     public void refresh() {
         beforeRefresh();
-        data = getObservableData();
-        TableFactory.updateTable(data, table);
-        TableFactory.updatePagination(data, table, pagination);
+        if(isPaged()) {
+            showPages();
+        } else {
+            showData(this::getSortedData);
+        }
     }
 
     protected void add(Node node) {
@@ -95,19 +138,87 @@ public abstract class ListTemplate<T> extends VBox {
         return (T) table.getSelectionModel().getSelectedItem();
     }
 
-    private ObservableList<T> getObservableData() {
-        data = FXCollections.observableArrayList();
-        ObservableList<T> dataToSort = getData();
-        dataToSort.stream().sorted(comparator).forEach(data::add);
-        return data;
+    private ObservableList<T> getSortedData() {
+        ObservableList<T> sortedData = FXCollections.observableArrayList();
+        getData().stream().sorted(comparator).forEach(sortedData::add);
+        return sortedData;
+    }
+
+    private void showData(Supplier<ObservableList<T>> dataLoader) {
+        final int version = ++dataVersion;
+        setShowingPages(false);
+        AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().submit(dataLoader), loadedData -> {
+            if(version == dataVersion) {
+                data = loadedData;
+                TableFactory.updateTable(data, table);
+                TableFactory.updatePagination(data, table, pagination);
+            }
+        });
+    }
+
+    private void showPages() {
+        ++dataVersion;
+        // Leaving search results, a column that cannot sort the pages no longer sorts the table
+        table.getSortOrder().removeIf(column -> !isPageSortable((TableColumn) column));
+        setShowingPages(true);
+        setPageSort(table.getSortOrder().isEmpty() ? null : (TableColumn) table.getSortOrder().get(0));
+        TableFactory.updatePagination(createPagedData(), table, pagination);
+    }
+
+    // Pages come sorted from the database, ascending only, so the table never sorts them itself. Search results are
+    // all in memory and keep the default sort
+    private void initPageSort() {
+
+        final Callback<TableView, Boolean> defaultSortPolicy = table.getSortPolicy();
+        final Callback<TableView, Boolean> pageSortPolicy = sortedTable -> showingPages || defaultSortPolicy.call(sortedTable);
+
+        table.setSortPolicy(pageSortPolicy);
+
+        for(Object tableColumn : table.getColumns()) {
+            TableColumn column = (TableColumn) tableColumn;
+            column.sortTypeProperty().addListener((observable, oldSortType, newSortType) -> {
+                if(showingPages && newSortType != TableColumn.SortType.ASCENDING) {
+                    column.setSortType(TableColumn.SortType.ASCENDING);
+                }
+            });
+        }
+
+        table.getSortOrder().addListener((ListChangeListener) change -> {
+            if(showingPages) {
+                showPages();
+            }
+        });
+
+        setShowingPages(true);
+    }
+
+    private void setShowingPages(boolean showingPages) {
+
+        this.showingPages = showingPages;
+
+        if(!isPaged()) {
+            return;
+        }
+
+        for(Object tableColumn : table.getColumns()) {
+            TableColumn column = (TableColumn) tableColumn;
+            column.setSortable(!showingPages || isPageSortable(column));
+            if(showingPages) {
+                column.setSortType(TableColumn.SortType.ASCENDING);
+            }
+        }
+    }
+
+    private PagedData<T> createPagedData() {
+        return new PagedData<>(this::getPage, TableFactory.getRowsPerPage(), PREFETCH_PAGES);
     }
 
     private void searchCommand() {
-        data = getData();
-        if(!searchField.getText().isEmpty()) {
-            data = data.filtered(fieldData -> fieldToFilter(fieldData).toLowerCase().contains(searchField.getText().toLowerCase()));
+        final String searchText = searchField.getText().trim();
+        if(searchText.isEmpty()) {
+            refresh();
+            return;
         }
-        TableFactory.updateTable(data, table);
-        TableFactory.updatePagination(data, table, pagination);
+        showData(() -> search(searchText));
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package iris.playharmony.view.template;
+
+import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.model.ObservableSong;
+import iris.playharmony.model.SongSort;
+import iris.playharmony.view.util.TableFactory;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public abstract class SongListTemplate extends ListTemplate<ObservableSong> {
+
+    private static final int MAX_SEARCH_RESULTS = 200;
+
+    // Read by the page loader on a database thread
+    private volatile SongSort sort;
+
+    public SongListTemplate(String title) {
+        super(title);
+    }
+
+    // A column whose header sorts the pages in the database by the given order
+    protected static TableColumn sortedColumn(String name, String id, SongSort sort) {
+        TableColumn column = TableFactory.tableColumn(name, id);
+        column.setUserData(sort);
+        return column;
+    }
+
+    @Override
+    protected Comparator<ObservableSong> initComparator() {
+        return Comparator.comparing(song -> song.title().get());
+    }
+
+    @Override
+    protected ObservableList<ObservableSong> getData() {
+        ObservableList<ObservableSong> songs = FXCollections.observableArrayList();
+        DatabaseController.get()
+                .getSongs()
+                .stream()
+                .map(ObservableSong::from)
+                .forEach(songs::add);
+        return songs;
+    }
+
+    @Override
+    protected boolean isPaged() {
+        return true;
+    }
+
+    @Override
+    protected List<ObservableSong> getPage(ObservableSong after, int limit) {
+        return DatabaseController.get()
+                .getSongsPage(after == null ? null : after.toSong(), limit, getSort())
+                .stream()
+                .map(ObservableSong::from)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected boolean isPageSortable(TableColumn column) {
+        return column.getUserData() instanceof SongSort;
+    }
+
+    @Override
+    protected void setPageSort(TableColumn column) {
+        sort = column != null ? (SongSort) column.getUserData() : SongSort.getDefault();
+    }
+
+    @Override
+    protected ObservableList<ObservableSong> search(String searchText) {
+        ObservableList<ObservableSong> songs = FXCollections.observableArrayList();
+        DatabaseController.get()
+                .searchSongs(searchText, MAX_SEARCH_RESULTS)
+                .stream()
+                .map(ObservableSong::from)
+                .forEach(songs::add);
+        return songs;
+    }
+
+    @Override
+    protected String fieldToFilter(ObservableSong song) {
+        return song.getTitle();
+    }
+
+    // The first pages are loaded while the table is built, before setPageSort is first called
+    private SongSort getSort() {
+        final SongSort currentSort = sort;
+        return currentSort != null ? currentSort : SongSort.getDefault();
+    }
+}
@@ -1,7 +1,7 @@
 package iris.playharmony.view.user;
 
 import iris.playharmony.controller.NavController;
-import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.model.Playlist;
 import iris.playharmony.model.User;
 import iris.playharmony.session.Session;
@@ -86,9 +86,14 @@ public class UserView extends ListTemplate<Playlist> {
 
     private void deletePlaylist() {
         Playlist selectedItem = getSelectedItem();
-        if(AlertFactory.confirmAlert("Confirm", "Are you sure you want to delete the playlist?")){
-            DatabaseController.get().deletePlayList(selectedItem, Session.getSession().currentUser());
-            refresh();
+        if(selectedItem != null && AlertFactory.confirmAlert("Confirm", "Are you sure you want to delete the playlist?")){
+            User user = Session.getSession().currentUser();
+            AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().deletePlayList(selectedItem, user), deleted -> {
+                if(deleted) {
+                    user.removePlayList(selectedItem);
+                }
+                refresh();
+            });
         }
     }
 
@@ -49,7 +49,7 @@ public class FavouriteSongListView extends ListTemplate<ObservableSong> {
     @Override
     protected TableColumn[] initTable() {
         return new TableColumn[] {
-                TableFactory.tableColumnPhoto("Photo", "photo", 100),
+                TableFactory.tableColumnSongPhoto("Photo", 100),
                 TableFactory.tableColumn("Title", "title"),
                 TableFactory.tableColumn("Author", "author"),
                 TableFactory.tableColumn("Date", "date"),
@@ -80,9 +80,7 @@ public class FavouriteSongListView extends ListTemplate<ObservableSong> {
         ObservableSong selectedItem = getSelectedItem();
         if(selectedItem != null) {
             if(AlertFactory.confirmAlert("Remove Song", "Do you want to delete the song?")) {
-                Song selectedSong = DatabaseController.get().getSongs().stream()
-                        .filter(song -> song.getTitle().equals(selectedItem.getTitle()))
-                        .findAny().get();
+                Song selectedSong = DatabaseController.get().getSongByTitle(selectedItem.getTitle()).get();
                 User currentUser = Session.getSession().currentUser();
                 currentUser.favourites().deleteSong(selectedSong);
                 DatabaseController.get().addToFavourites(currentUser.favourites(),
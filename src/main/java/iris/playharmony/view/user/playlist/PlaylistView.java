@@ -58,7 +58,7 @@ public class PlaylistView extends ListTemplate<ObservableSong> {
     protected TableColumn[] initTable() {
         return new TableColumn[] {
                 TableFactory.tableColumnPhoto("", "fav", 40),
-                TableFactory.tableColumnPhoto("Photo", "photo", 100),
+                TableFactory.tableColumnSongPhoto("Photo", 100),
                 TableFactory.tableColumn("Title", "title"),
                 TableFactory.tableColumn("Author", "author"),
                 TableFactory.tableColumn("Date", "date"),
@@ -83,9 +83,7 @@ public class PlaylistView extends ListTemplate<ObservableSong> {
         ObservableSong selectedItem = getSelectedItem();
         if(selectedItem != null) {
             if(AlertFactory.confirmAlert("Remove Song", "Do you want to delete the song?")) {
-                Song songPrueba = DatabaseController.get().getSongs().stream()
-                        .filter(song -> song.getTitle().equals(selectedItem.getTitle()))
-                        .findAny().get();
+                Song songPrueba = DatabaseController.get().getSongByTitle(selectedItem.getTitle()).get();
                 playlist.deleteSong(songPrueba);
                 DatabaseController.get().addPlayList(playlist, Session.getSession().currentUser());
                 refresh();
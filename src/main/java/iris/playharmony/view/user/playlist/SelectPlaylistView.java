@@ -64,9 +64,7 @@ public class SelectPlaylistView extends ListTemplate<Playlist> {
 
         Playlist selectedPlaylist = getSelectedItem();
 
-        selectedPlaylist.addSong(DatabaseController.get().getSongs().stream()
-                .filter(song -> song.getTitle().equals(toBeAddedSong))
-                .findAny().get());
+        selectedPlaylist.addSong(DatabaseController.get().getSongByTitle(toBeAddedSong).get());
 
         DatabaseController.get().addPlayList(selectedPlaylist, Session.getSession().currentUser());
 
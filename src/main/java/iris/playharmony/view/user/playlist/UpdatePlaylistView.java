@@ -1,7 +1,7 @@
 package iris.playharmony.view.user.playlist;
 
 import iris.playharmony.controller.NavController;
-import iris.playharmony.controller.db.DatabaseController;
+import iris.playharmony.controller.db.AsyncDatabaseController;
 import iris.playharmony.model.Playlist;
 import iris.playharmony.model.User;
 import iris.playharmony.session.Session;
@@ -41,13 +41,19 @@ public class UpdatePlaylistView extends FormTemplate {
 
     private void updatePlayList() {
         User user = Session.getSession().currentUser();
-
-        if(DatabaseController.get().updatePlayList(namePlayList.getText(), playlist, user)){
-            NavController.get().popView();
-            UserView userView = NavController.get().getCurrentView();
-            userView.refresh();
-        }else{
-            AlertFactory.errorAlert("ERROR! PlayList is already registered", "Please introduce other name.");
-        }
+        String newName = namePlayList.getText();
+
+        AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().updatePlayList(newName, playlist, user), updated -> {
+            if(updated) {
+                user.removePlayList(playlist);
+                playlist.setName(newName);
+                user.addPlayList(playlist);
+                NavController.get().popView();
+                UserView userView = NavController.get().getCurrentView();
+                userView.refresh();
+            } else {
+                AlertFactory.errorAlert("ERROR! PlayList is already registered", "Please introduce other name.");
+            }
+        });
     }
 }
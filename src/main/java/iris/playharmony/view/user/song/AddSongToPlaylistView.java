@@ -5,15 +5,12 @@ import iris.playharmony.controller.db.DatabaseController;
 import iris.playharmony.model.ObservableSong;
 import iris.playharmony.model.Playlist;
 import iris.playharmony.model.Song;
-import iris.playharmony.model.player.MusicPlayer;
-import iris.playharmony.model.player.Spectrum;
 import iris.playharmony.session.Session;
 import iris.playharmony.view.player.MusicPlayerView;
-import iris.playharmony.view.player.MusicPlayerViewModel;
+import iris.playharmony.view.player.PlaybackEngine;
 import iris.playharmony.view.template.ListTemplate;
 import iris.playharmony.view.util.ButtonFactory;
 import iris.playharmony.view.util.TableFactory;
-import javafx.animation.Interpolator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -24,6 +21,8 @@ import java.util.Comparator;
 
 public class AddSongToPlaylistView extends ListTemplate<ObservableSong> {
 
+    private static final int MAX_SEARCH_RESULTS = 200;
+
     private Playlist playlist;
 
     public AddSongToPlaylistView(Object baseElement) {
@@ -52,6 +51,17 @@ public class AddSongToPlaylistView extends ListTemplate<ObservableSong> {
         return lists;
     }
 
+    @Override
+    protected ObservableList<ObservableSong> search(String searchText) {
+        ObservableList<ObservableSong> lists = FXCollections.observableArrayList();
+        for (Song song : DatabaseController.get().searchSongs(searchText, MAX_SEARCH_RESULTS)) {
+            if(!playlist.getSongList().contains(song)) {
+                lists.add(ObservableSong.from(song));
+            }
+        }
+        return lists;
+    }
+
     @Override
     protected String fieldToFilter(ObservableSong song) {
         return song.getTitle();
@@ -61,7 +71,7 @@ public class AddSongToPlaylistView extends ListTemplate<ObservableSong> {
     protected TableColumn[] initTable() {
         return new TableColumn[] {
                 TableFactory.tableColumnPhoto("", "fav", 40),
-                TableFactory.tableColumnPhoto("Photo", "photo", 100),
+                TableFactory.tableColumnSongPhoto("Photo", 100),
                 TableFactory.tableColumn("Title", "title"),
                 TableFactory.tableColumn("Author", "author"),
                 TableFactory.tableColumn("Date", "date"),
@@ -83,9 +93,7 @@ public class AddSongToPlaylistView extends ListTemplate<ObservableSong> {
 
         if(selectedItem != null) {
 
-            playlist.addSong(DatabaseController.get().getSongs().stream()
-                    .filter(song -> song.getTitle().equals(selectedItem.getTitle()))
-                    .findAny().get());
+            playlist.addSong(DatabaseController.get().getSongByTitle(selectedItem.getTitle()).get());
 
             DatabaseController.get().addPlayList(playlist, Session.getSession().currentUser());
 
@@ -94,17 +102,11 @@ public class AddSongToPlaylistView extends ListTemplate<ObservableSong> {
     }
 
     private void playSong(ActionEvent actionEvent) {
-
-        MusicPlayer musicPlayer = new MusicPlayer();
-        Spectrum spectrum = new Spectrum(Interpolator.LINEAR);
         ObservableSong selectedItem = getSelectedItem();
+        Song song = DatabaseController.get().getSongByTitle(selectedItem.getTitle()).get();
 
-        Song song = DatabaseController.get().getSongs().stream().filter(s -> s.getTitle().equals(selectedItem.getTitle())).findFirst().get();
-
-        MusicPlayerViewModel musicPlayerViewModel = new MusicPlayerViewModel(musicPlayer, spectrum);
-        musicPlayerViewModel.setSong(song);
-
-        NavController.get().pushView(new MusicPlayerView(musicPlayerViewModel));
-        musicPlayer.play();
+        PlaybackEngine playbackEngine = PlaybackEngine.get();
+        NavController.get().pushView(new MusicPlayerView(playbackEngine.getViewModel()));
+        playbackEngine.play(song);
     }
 }
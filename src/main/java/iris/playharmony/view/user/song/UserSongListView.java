@@ -2,62 +2,35 @@ package iris.playharmony.view.user.song;
 
 import iris.playharmony.controller.NavController;
 import iris.playharmony.controller.db.DatabaseController;
-import iris.playharmony.controller.db.SongDatabaseController;
 import iris.playharmony.model.ObservableSong;
 import iris.playharmony.model.Playlist;
 import iris.playharmony.model.Song;
-import iris.playharmony.model.player.MusicPlayer;
-import iris.playharmony.model.player.Spectrum;
+import iris.playharmony.model.SongSort;
 import iris.playharmony.session.Session;
 import iris.playharmony.view.player.MusicPlayerView;
-import iris.playharmony.view.player.MusicPlayerViewModel;
-import iris.playharmony.view.template.ListTemplate;
+import iris.playharmony.view.player.PlaybackEngine;
+import iris.playharmony.view.template.SongListTemplate;
 import iris.playharmony.view.user.playlist.SelectPlaylistView;
 import iris.playharmony.view.util.ButtonFactory;
 import iris.playharmony.view.util.TableFactory;
-import javafx.animation.Interpolator;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.scene.Node;
 import javafx.scene.control.TableColumn;
 
-import java.util.Comparator;
+public class UserSongListView extends SongListTemplate {
 
-public class UserSongListView extends ListTemplate<ObservableSong> {
     public UserSongListView() {
         super("Search Song");
     }
 
-    @Override
-    protected Comparator<ObservableSong> initComparator() {
-        return Comparator.comparing(observable -> observable.title().get());
-    }
-
-    @Override
-    protected ObservableList<ObservableSong> getData() {
-        ObservableList<ObservableSong> songs = FXCollections.observableArrayList();
-        new SongDatabaseController()
-                .getSongs()
-                .stream()
-                .map(ObservableSong::from)
-                .forEach(songs::add);
-        return songs;
-    }
-
-    @Override
-    protected String fieldToFilter(ObservableSong song) {
-        return song.getTitle();
-    }
-
     @Override
     protected TableColumn[] initTable() {
         return new TableColumn[] {
                 TableFactory.tableColumnPhoto("", "fav", 40),
-                TableFactory.tableColumnPhoto("Photo", "photo", 200),
-                TableFactory.tableColumn("Title", "title"),
-                TableFactory.tableColumn("Author", "author"),
-                TableFactory.tableColumn("Date", "date"),
+                TableFactory.tableColumnSongPhoto("Photo", 200),
+                sortedColumn("Title", "title", SongSort.TITLE),
+                sortedColumn("Author", "author", SongSort.AUTHOR),
+                sortedColumn("Date", "date", SongSort.PUBLICATION),
                 TableFactory.tableColumn("Avg. Rating", "rating")
         };
     }
@@ -83,9 +56,7 @@ public class UserSongListView extends ListTemplate<ObservableSong> {
         favourites = favourites == null ? new Playlist("Favourites") : favourites;
 
         ObservableSong selectedItem = getSelectedItem();
-        Song toBeAdded = DatabaseController.get().getSongs().stream()
-                .filter(song -> song.getTitle().equals(selectedItem.getTitle()))
-                .findAny().get();
+        Song toBeAdded = DatabaseController.get().getSongByTitle(selectedItem.getTitle()).get();
 
         favourites.addSong(toBeAdded);
         DatabaseController.get().addToFavourites(favourites, Session.getSession().currentUser());
@@ -93,17 +64,12 @@ public class UserSongListView extends ListTemplate<ObservableSong> {
     }
 
     private void playSong(ActionEvent actionEvent) {
-        MusicPlayer musicPlayer = new MusicPlayer();
-        Spectrum spectrum = new Spectrum(Interpolator.LINEAR);
         ObservableSong selectedItem = getSelectedItem();
-        Song song = DatabaseController.get().getSongs().stream().filter(s -> s.getTitle().equals(selectedItem.getTitle())).findFirst().get();
+        Song song = DatabaseController.get().getSongByTitle(selectedItem.getTitle()).get();
 
-        MusicPlayerViewModel musicPlayerViewModel = new MusicPlayerViewModel(musicPlayer, spectrum);
-        musicPlayerViewModel.setSong(song);
-
-        NavController.get().pushView(new MusicPlayerView(musicPlayerViewModel));
-        musicPlayer.play();
+        PlaybackEngine playbackEngine = PlaybackEngine.get();
+        NavController.get().pushView(new MusicPlayerView(playbackEngine.getViewModel()));
+        playbackEngine.play(song);
     }
 }
 
-
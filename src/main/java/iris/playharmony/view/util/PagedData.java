@@ -0,0 +1,95 @@
+package iris.playharmony.view.util;
+
+import javafx.scene.control.Pagination;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pages are loaded on database threads and read from the FX thread
+public class PagedData<T> {
+
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        List<T> load(T after, int limit);
+    }
+
+    private static final int UNKNOWN = -1;
+
+    private final PageLoader<T> loader;
+    private final int pageSize;
+    private final int prefetchPages;
+    private final List<T> pageCursors;
+    private final Map<Integer, List<T>> pages;
+    private int lastPage;
+
+    public PagedData(PageLoader<T> loader, int pageSize, int prefetchPages) {
+        this.loader = loader;
+        this.pageSize = pageSize;
+        this.prefetchPages = prefetchPages;
+        pageCursors = new ArrayList<>();
+        pages = new HashMap<>();
+        lastPage = UNKNOWN;
+    }
+
+    public synchronized List<T> getPage(int pageIndex) {
+
+        for(int index = Math.max(0, pageIndex - prefetchPages);index <= pageIndex + prefetchPages;index++) {
+            if(!loadPage(index)) {
+                break;
+            }
+        }
+
+        pages.keySet().removeIf(index -> Math.abs(index - pageIndex) > prefetchPages);
+
+        return pages.getOrDefault(pageIndex, Collections.emptyList());
+    }
+
+    public synchronized int getPageCount() {
+        return lastPage == UNKNOWN ? Pagination.INDETERMINATE : lastPage + 1;
+    }
+
+    public synchronized boolean isLastPageKnown() {
+        return lastPage != UNKNOWN;
+    }
+
+    private boolean loadPage(int pageIndex) {
+
+        if(pages.containsKey(pageIndex)) {
+            return true;
+        }
+
+        if(lastPage != UNKNOWN && pageIndex > lastPage) {
+            return false;
+        }
+
+        while(pageCursors.size() < pageIndex) {
+            if(!loadPage(pageCursors.size())) {
+                return false;
+            }
+        }
+
+        List<T> page = loader.load(pageIndex == 0 ? null : pageCursors.get(pageIndex - 1), pageSize);
+
+        if(page.size() < pageSize) {
+            lastPage = page.isEmpty() ? Math.max(0, pageIndex - 1) : pageIndex;
+        }
+
+        if(page.isEmpty()) {
+            return pageIndex == 0 && putPage(pageIndex, page);
+        }
+
+        if(pageIndex == pageCursors.size()) {
+            pageCursors.add(page.get(page.size() - 1));
+        }
+
+        return putPage(pageIndex, page);
+    }
+
+    private boolean putPage(int pageIndex, List<T> page) {
+        pages.put(pageIndex, page);
+        return true;
+    }
+}
@@ -1,16 +1,22 @@
 package iris.playharmony.view.util;
 
+import iris.playharmony.controller.db.AsyncDatabaseController;
+import iris.playharmony.model.ObservableSong;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.control.Pagination;
+import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 
 public class TableFactory {
 
     private static int ROWS_PER_PAGE = 20;
+    private static final String PAGED_DATA = "pagedData";
 
     public static Pagination pagination(ObservableList<?> data, TableView table) {
         Pagination pagination;
@@ -31,6 +37,12 @@ public class TableFactory {
         return pagination;
     }
 
+    public static Pagination pagination(PagedData<?> data, TableView table) {
+        Pagination pagination = new Pagination(data.getPageCount(), 0);
+        updatePagination(data, table, pagination);
+        return pagination;
+    }
+
     public static TableView table(ObservableList<?> data, TableColumn... columns) {
         TableView table = new TableView<>();
 
@@ -60,6 +72,17 @@ public class TableFactory {
         return column;
     }
 
+    // Song photos are read from the database on a worker thread once their row is shown
+    public static TableColumn tableColumnSongPhoto(String name, int size) {
+        TableColumn<ObservableSong, ObservableSong> column = new TableColumn<>(name);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue()));
+        column.setCellFactory(cell -> new SongPhotoCell());
+        column.setMaxWidth(size);
+        column.setMinWidth(size);
+        column.setPrefWidth(size);
+        return column;
+    }
+
     public static void updatePagination(ObservableList<?> data, TableView table, Pagination pagination) {
         int rest = data.size() % ROWS_PER_PAGE;
         pagination.setPageCount((rest != 0) ? (data.size() / ROWS_PER_PAGE) + 1 : data.size() / ROWS_PER_PAGE);
@@ -72,8 +95,64 @@ public class TableFactory {
         });
     }
 
+    public static void updatePagination(PagedData<?> data, TableView table, Pagination pagination) {
+        pagination.getProperties().put(PAGED_DATA, data);
+        pagination.setPageCount(data.getPageCount());
+        pagination.setPageFactory(pageIndex -> {
+            // The page is read on a database thread, the table keeps its rows until it arrives
+            AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().submit(() -> data.getPage(pageIndex)), page -> {
+
+                if(pagination.getProperties().get(PAGED_DATA) != data || pagination.getCurrentPageIndex() != pageIndex) {
+                    return;
+                }
+
+                if(data.isLastPageKnown() && pagination.getPageCount() != data.getPageCount()) {
+                    pagination.setPageCount(data.getPageCount());
+                }
+
+                if(!page.isEmpty() || pageIndex == 0) {
+                    table.setItems(FXCollections.observableArrayList(page));
+                }
+            });
+
+            return new BorderPane(table);
+        });
+    }
+
+    public static int getRowsPerPage() {
+        return ROWS_PER_PAGE;
+    }
+
     public static void updateTable(ObservableList<?> data, TableView table) {
         table.setItems(data);
         table.refresh();
     }
+
+    private static final class SongPhotoCell extends TableCell<ObservableSong, ObservableSong> {
+
+        private final ImageView imageView = new ImageView();
+
+        @Override
+        protected void updateItem(ObservableSong song, boolean empty) {
+
+            super.updateItem(song, empty);
+
+            if(empty || song == null) {
+                setGraphic(null);
+                return;
+            }
+
+            imageView.setImage(song.getPhoto());
+            setGraphic(imageView);
+
+            if(!song.isPhotoLoaded()) {
+                AsyncDatabaseController.onFxThread(AsyncDatabaseController.get().submit(song::loadPhoto), photo -> {
+                    // Cells are reused while scrolling
+                    if(getItem() == song) {
+                        imageView.setImage(photo);
+                    }
+                });
+            }
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package iris.playharmony.view.util;
+
+import javafx.beans.property.Property;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ViewBindings {
+
+    private final List<Runnable> attachActions;
+    private final List<Runnable> detachActions;
+    private boolean attached;
+
+    public ViewBindings() {
+        attachActions = new ArrayList<>();
+        detachActions = new ArrayList<>();
+    }
+
+    public <T> ViewBindings listen(ObservableValue<T> observable, ChangeListener<? super T> listener) {
+        return add(() -> {
+            observable.addListener(listener);
+            if(observable.getValue() != null) {
+                listener.changed(observable, null, observable.getValue());
+            }
+        }, () -> observable.removeListener(listener));
+    }
+
+    public <T> ViewBindings bind(Property<T> property, ObservableValue<? extends T> observable) {
+        return add(() -> property.bind(observable), property::unbind);
+    }
+
+    public ViewBindings add(Runnable onAttach, Runnable onDetach) {
+
+        attachActions.add(onAttach);
+        detachActions.add(onDetach);
+
+        if(attached) {
+            onAttach.run();
+        }
+
+        return this;
+    }
+
+    // Long-lived models only reference the view while it is on screen
+    public ViewBindings attachWhileShowing(Node node) {
+
+        node.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if(newScene != null) {
+                attach();
+            } else {
+                detach();
+            }
+        });
+
+        if(node.getScene() != null) {
+            attach();
+        }
+
+        return this;
+    }
+
+    public void attach() {
+        if(!attached) {
+            attached = true;
+            attachActions.forEach(Runnable::run);
+        }
+    }
+
+    public void detach() {
+        if(attached) {
+            attached = false;
+            detachActions.forEach(Runnable::run);
+        }
+    }
+
+    public boolean isAttached() {
+        return attached;
+    }
+}